@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.datastax.driver.core;
+
+import com.datastax.driver.core.policies.RetryPolicy;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates driver objects, which are normally only created from responses of a cluster, out of in-memory data. This
+ * lives in the driver package as the constructors of column definitions, rows and prepared ids are package-private.
+ *
+ * @since 0.99.0
+ */
+public final class DriverFixtures {
+
+    public static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.V4;
+
+    private static final CodecRegistry CODEC_REGISTRY = CodecRegistry.DEFAULT_INSTANCE;
+
+    private DriverFixtures() {
+    }
+
+    /**
+     * Creates the definitions of columns of the given names and types of a single table.
+     *
+     * @param keyspace Keyspace of the table
+     * @param table    Name of the table
+     * @param names    Names of the columns
+     * @param types    CQL types of the columns
+     * @return Column definitions
+     */
+    public static ColumnDefinitions columnDefinitions(String keyspace, String table, List<String> names,
+                                                      List<DataType> types) {
+        ColumnDefinitions.Definition[] definitions = new ColumnDefinitions.Definition[names.size()];
+        for (int i = 0; i < definitions.length; i++) {
+            definitions[i] = new ColumnDefinitions.Definition(keyspace, table, names.get(i), types.get(i));
+        }
+        return new ColumnDefinitions(definitions, CODEC_REGISTRY);
+    }
+
+    /**
+     * Creates a row of the given columns, serializing the values the same way the server would.
+     *
+     * @param columns Columns of the row
+     * @param values  Values of the columns, of the Java types the default codecs map the column types to
+     * @return Row holding the serialized values
+     */
+    public static Row row(ColumnDefinitions columns, Object... values) {
+        List<ByteBuffer> data = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            data.add(values[i] == null ? null
+                    : CODEC_REGISTRY.codecFor(columns.getType(i)).serialize(values[i], PROTOCOL_VERSION));
+        }
+        return ArrayBackedRow.fromData(columns, null, PROTOCOL_VERSION, data);
+    }
+
+    /**
+     * Creates a fully fetched result holding the given rows.
+     *
+     * @param columns Columns of the result
+     * @param rows    Rows of the result
+     * @return Result set which can be iterated once
+     */
+    public static ResultSet resultSet(ColumnDefinitions columns, List<Row> rows) {
+        return new InMemoryResultSet(columns, rows);
+    }
+
+    /**
+     * Creates a prepared statement with the given bind variables, which can be bound without a session.
+     *
+     * @param query     Query of the statement
+     * @param variables Bind variables of the statement
+     * @return Prepared statement
+     */
+    public static PreparedStatement preparedStatement(String query, ColumnDefinitions variables) {
+        return new InMemoryPreparedStatement(query, variables);
+    }
+
+    /**
+     * Result set over a list of rows which are all available without fetching.
+     */
+    private static final class InMemoryResultSet implements ResultSet {
+
+        private final ColumnDefinitions columns;
+
+        private final List<Row> rows;
+
+        private int position;
+
+        private InMemoryResultSet(ColumnDefinitions columns, List<Row> rows) {
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        @Override
+        public ColumnDefinitions getColumnDefinitions() {
+            return columns;
+        }
+
+        @Override
+        public boolean wasApplied() {
+            return true;
+        }
+
+        @Override
+        public boolean isExhausted() {
+            return position >= rows.size();
+        }
+
+        @Override
+        public Row one() {
+            return isExhausted() ? null : rows.get(position++);
+        }
+
+        @Override
+        public List<Row> all() {
+            List<Row> remaining = new ArrayList<>(rows.subList(position, rows.size()));
+            position = rows.size();
+            return remaining;
+        }
+
+        @Override
+        public Iterator<Row> iterator() {
+            return new Iterator<Row>() {
+                @Override
+                public boolean hasNext() {
+                    return !isExhausted();
+                }
+
+                @Override
+                public Row next() {
+                    return one();
+                }
+            };
+        }
+
+        @Override
+        public int getAvailableWithoutFetching() {
+            return rows.size() - position;
+        }
+
+        @Override
+        public boolean isFullyFetched() {
+            return true;
+        }
+
+        @Override
+        public ListenableFuture<ResultSet> fetchMoreResults() {
+            return Futures.<ResultSet>immediateFuture(this);
+        }
+
+        @Override
+        public ExecutionInfo getExecutionInfo() {
+            throw new UnsupportedOperationException("in-memory results are not executed");
+        }
+
+        @Override
+        public List<ExecutionInfo> getAllExecutionInfo() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Prepared statement which was never sent to a cluster.
+     */
+    private static final class InMemoryPreparedStatement implements PreparedStatement {
+
+        private final String query;
+
+        private final ColumnDefinitions variables;
+
+        private final PreparedId preparedId;
+
+        private InMemoryPreparedStatement(String query, ColumnDefinitions variables) {
+            this.query = query;
+            this.variables = variables;
+            MD5Digest id = MD5Digest.wrap(new byte[16]);
+            this.preparedId = new PreparedId(new PreparedId.PreparedMetadata(id, variables),
+                    new PreparedId.PreparedMetadata(null, null), new int[0], PROTOCOL_VERSION);
+        }
+
+        @Override
+        public ColumnDefinitions getVariables() {
+            return variables;
+        }
+
+        @Override
+        public BoundStatement bind(Object... values) {
+            return new BoundStatement(this).bind(values);
+        }
+
+        @Override
+        public BoundStatement bind() {
+            return new BoundStatement(this);
+        }
+
+        @Override
+        public PreparedStatement setRoutingKey(ByteBuffer routingKey) {
+            return this;
+        }
+
+        @Override
+        public PreparedStatement setRoutingKey(ByteBuffer... routingKeyComponents) {
+            return this;
+        }
+
+        @Override
+        public ByteBuffer getRoutingKey() {
+            return null;
+        }
+
+        @Override
+        public PreparedStatement setConsistencyLevel(ConsistencyLevel consistency) {
+            return this;
+        }
+
+        @Override
+        public ConsistencyLevel getConsistencyLevel() {
+            return null;
+        }
+
+        @Override
+        public PreparedStatement setSerialConsistencyLevel(ConsistencyLevel serialConsistency) {
+            return this;
+        }
+
+        @Override
+        public ConsistencyLevel getSerialConsistencyLevel() {
+            return null;
+        }
+
+        @Override
+        public String getQueryString() {
+            return query;
+        }
+
+        @Override
+        public String getQueryKeyspace() {
+            return null;
+        }
+
+        @Override
+        public PreparedStatement enableTracing() {
+            return this;
+        }
+
+        @Override
+        public PreparedStatement disableTracing() {
+            return this;
+        }
+
+        @Override
+        public boolean isTracing() {
+            return false;
+        }
+
+        @Override
+        public PreparedStatement setRetryPolicy(RetryPolicy policy) {
+            return this;
+        }
+
+        @Override
+        public RetryPolicy getRetryPolicy() {
+            return null;
+        }
+
+        @Override
+        public PreparedId getPreparedId() {
+            return preparedId;
+        }
+
+        @Override
+        public Map<String, ByteBuffer> getIncomingPayload() {
+            return null;
+        }
+
+        @Override
+        public Map<String, ByteBuffer> getOutgoingPayload() {
+            return null;
+        }
+
+        @Override
+        public PreparedStatement setOutgoingPayload(Map<String, ByteBuffer> payload) {
+            return this;
+        }
+
+        @Override
+        public CodecRegistry getCodecRegistry() {
+            return CODEC_REGISTRY;
+        }
+
+        @Override
+        public PreparedStatement setIdempotent(Boolean idempotent) {
+            return this;
+        }
+
+        @Override
+        public Boolean isIdempotent() {
+            return null;
+        }
+    }
+}
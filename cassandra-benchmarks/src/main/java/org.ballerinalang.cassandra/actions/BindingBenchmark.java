@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra.actions;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.DriverFixtures;
+import com.datastax.driver.core.PreparedStatement;
+import org.ballerinalang.cassandra.benchmarks.BallerinaFixtures;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.api.BArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of the parameters of a query, given either as plain values or as parameter records, into
+ * parameter records and the binding of those records to a prepared statement, for parameters holding either a
+ * single value or an array expanded into one value per element.
+ *
+ * @since 0.99.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingBenchmark {
+
+    @Param({"1", "8", "32"})
+    public int parameterCount;
+
+    @Param({"1", "16"})
+    public int valuesPerParameter;
+
+    @Param({"false", "true"})
+    public boolean parameterRecords;
+
+    private ArrayValue parameters;
+
+    private BArray uniformParameters;
+
+    private PreparedStatement statement;
+
+    @Setup
+    public void setUp() {
+        BallerinaFixtures.initialize();
+        parameters = new ArrayValueImpl(new BArrayType(BTypes.typeAnydata));
+        for (int i = 0; i < parameterCount; i++) {
+            Object value;
+            if (valuesPerParameter == 1) {
+                value = (long) i;
+            } else {
+                long[] elements = new long[valuesPerParameter];
+                for (int j = 0; j < valuesPerParameter; j++) {
+                    elements[j] = j;
+                }
+                value = BallerinaFixtures.intArray(elements);
+            }
+            // Arrays can only be passed in parameter records, as their CQL type cannot be inferred
+            boolean record = parameterRecords || valuesPerParameter > 1;
+            parameters.add(i, record ? BallerinaFixtures.parameter("INT", value) : value);
+        }
+        uniformParameters = ActionUtil.constructUniformArrayOfParameters(parameters);
+
+        int variableCount = parameterCount * valuesPerParameter;
+        List<String> names = new ArrayList<>(variableCount);
+        List<DataType> types = new ArrayList<>(variableCount);
+        for (int i = 0; i < variableCount; i++) {
+            names.add("c" + i);
+            types.add(DataType.cint());
+        }
+        ColumnDefinitions variables = DriverFixtures.columnDefinitions("benchmark", "data", names, types);
+        statement = DriverFixtures.preparedStatement("SELECT * FROM benchmark.data WHERE c0 IN ?", variables);
+    }
+
+    @Benchmark
+    public BArray constructUniformArrayOfParameters() {
+        return ActionUtil.constructUniformArrayOfParameters(parameters);
+    }
+
+    @Benchmark
+    public BoundStatement createBoundStatement() {
+        return ActionUtil.createBoundStatement(statement, uniformParameters, true);
+    }
+}
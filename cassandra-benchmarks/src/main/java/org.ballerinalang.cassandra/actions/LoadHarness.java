@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra.actions;
+
+import com.datastax.driver.core.Session;
+import org.HdrHistogram.Histogram;
+import org.ballerinalang.cassandra.CassandraDataSource;
+import org.ballerinalang.cassandra.StatementOptions;
+import org.ballerinalang.cassandra.benchmarks.BallerinaFixtures;
+import org.ballerinalang.cassandra.benchmarks.ConnectionOptions;
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.TypedescValue;
+import org.ballerinalang.jvm.values.TypedescValueImpl;
+import org.ballerinalang.jvm.values.api.BString;
+import org.cassandraunit.utils.EmbeddedCassandraServerHelper;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a mixed read and write workload through the query and update paths of the connector from many concurrent
+ * threads and reports the throughput and the latency percentiles of the operations as JSON. Unless a host is
+ * given, an embedded Cassandra is started, so that different connector configurations can be compared on a single
+ * machine without any setup.
+ * <p>
+ * Arguments are given as {@code --name=value}. Besides the workload arguments below, any field of the connection
+ * properties of the client can be set by its path, e.g. {@code --poolingOptionsConfig.maxConnectionsPerHostLocal=2},
+ * {@code --protocolOptionsConfig.compression=LZ4} or {@code --protocolOptionsConfig.initialProtocolVersion=V3}.
+ * <ul>
+ * <li>{@code threads} - number of threads executing operations, 16 by default</li>
+ * <li>{@code durationSeconds} - duration of the measurement, 30 by default</li>
+ * <li>{@code warmupSeconds} - duration of the warm up preceding the measurement, 10 by default</li>
+ * <li>{@code readRatio} - fraction of the operations which are reads, 0.8 by default</li>
+ * <li>{@code partitions} - number of partitions the operations are spread over, 10000 by default</li>
+ * <li>{@code valueSize} - number of characters of the values written, 100 by default</li>
+ * <li>{@code host}, {@code port}, {@code username} and {@code password} - Cassandra to run against instead of an
+ * embedded one</li>
+ * <li>{@code output} - file the report is written to instead of the standard output</li>
+ * </ul>
+ * The cause of the first failed operation, if any, is included in the report and its stack trace written to the
+ * standard error.
+ *
+ * @since 0.99.0
+ */
+public class LoadHarness {
+
+    private static final String KEYSPACE = "load_harness";
+
+    private static final String SELECT_QUERY = "SELECT id, value FROM " + KEYSPACE + ".data WHERE id = ?";
+
+    private static final String UPDATE_QUERY = "UPDATE " + KEYSPACE + ".data SET value = ? WHERE id = ?";
+
+    private static final long EMBEDDED_STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final List<String> WORKLOAD_ARGUMENTS = Arrays.asList("threads", "durationSeconds",
+            "warmupSeconds", "readRatio", "partitions", "valueSize", "host", "port", "username", "password", "output");
+
+    private final Map<String, String> arguments;
+
+    private final ConnectionOptions connectionOptions = new ConnectionOptions();
+
+    private final int threads;
+
+    private final long durationSeconds;
+
+    private final long warmupSeconds;
+
+    private final double readRatio;
+
+    private final int partitions;
+
+    private final String value;
+
+    private TypedescValue recordType;
+
+    private LoadHarness(Map<String, String> arguments) {
+        this.arguments = arguments;
+        for (Map.Entry<String, String> argument : arguments.entrySet()) {
+            if (!WORKLOAD_ARGUMENTS.contains(argument.getKey())) {
+                connectionOptions.set(argument.getKey(), argument.getValue());
+            }
+        }
+        this.threads = Integer.parseInt(arguments.getOrDefault("threads", "16"));
+        this.durationSeconds = Long.parseLong(arguments.getOrDefault("durationSeconds", "30"));
+        this.warmupSeconds = Long.parseLong(arguments.getOrDefault("warmupSeconds", "10"));
+        this.readRatio = Double.parseDouble(arguments.getOrDefault("readRatio", "0.8"));
+        this.partitions = Integer.parseInt(arguments.getOrDefault("partitions", "10000"));
+        char[] chars = new char[Integer.parseInt(arguments.getOrDefault("valueSize", "100"))];
+        Arrays.fill(chars, 'x');
+        this.value = new String(chars);
+        if (threads <= 0 || durationSeconds <= 0 || warmupSeconds < 0 || partitions <= 0) {
+            throw new IllegalArgumentException("threads, durationSeconds and partitions should be positive numbers "
+                    + "and warmupSeconds cannot be negative");
+        }
+        if (readRatio < 0 || readRatio > 1) {
+            throw new IllegalArgumentException("readRatio should be between 0 and 1");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("\"" + arg + "\" is not of the form --name=value");
+            }
+            arguments.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        int exitCode = 0;
+        try {
+            new LoadHarness(arguments).run();
+        } catch (Throwable e) {
+            e.printStackTrace();
+            exitCode = 1;
+        }
+        // The embedded Cassandra cannot be stopped, so the JVM is terminated explicitly.
+        System.exit(exitCode);
+    }
+
+    private void run() throws Exception {
+        String host = arguments.get("host");
+        int port;
+        if (host == null) {
+            EmbeddedCassandraServerHelper.startEmbeddedCassandra(EMBEDDED_STARTUP_TIMEOUT_MILLIS);
+            host = EmbeddedCassandraServerHelper.getHost();
+            port = EmbeddedCassandraServerHelper.getNativeTransportPort();
+        } else {
+            port = Integer.parseInt(arguments.getOrDefault("port", "9042"));
+        }
+
+        CassandraDataSource dataSource = new CassandraDataSource();
+        dataSource.init(host, port, arguments.getOrDefault("username", ""), arguments.getOrDefault("password", ""),
+                connectionOptions.toMapValue());
+        try {
+            createSchema(dataSource.getSession());
+            Map<String, BType> fields = new LinkedHashMap<>();
+            fields.put("id", BTypes.typeInt);
+            fields.put("value", BTypes.typeString);
+            BRecordType dataType = BallerinaFixtures.createRecordType("Data", fields);
+            recordType = new TypedescValueImpl(dataType);
+
+            long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<WorkerResult>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> runWorker(dataSource, warmupEnd, end)));
+            }
+            WorkerResult total = new WorkerResult();
+            for (Future<WorkerResult> future : futures) {
+                total.add(future.get());
+            }
+            executor.shutdown();
+            if (total.firstError != null) {
+                System.err.println("First failed operation:");
+                total.firstError.printStackTrace();
+            }
+            report(total);
+        } finally {
+            ActionUtil.close(dataSource);
+        }
+    }
+
+    private void createSchema(Session session) {
+        session.execute("CREATE KEYSPACE IF NOT EXISTS " + KEYSPACE
+                + " WITH replication = {'class': 'SimpleStrategy', 'replication_factor': 1}");
+        session.execute("CREATE TABLE IF NOT EXISTS " + KEYSPACE + ".data (id int PRIMARY KEY, value text)");
+        for (int id = 0; id < partitions; id++) {
+            session.execute("INSERT INTO " + KEYSPACE + ".data (id, value) VALUES (?, ?)", id, value);
+        }
+    }
+
+    private WorkerResult runWorker(CassandraDataSource dataSource, long warmupEnd, long end) {
+        WorkerResult result = new WorkerResult();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BString bValue = StringUtils.fromString(value);
+        long startTime;
+        while ((startTime = System.nanoTime()) < end) {
+            long id = random.nextInt(partitions);
+            boolean read = random.nextDouble() < readRatio;
+            ArrayValue parameters = new ArrayValueImpl(new BArrayType(BTypes.typeAnydata));
+            Throwable error = null;
+            try {
+                if (read) {
+                    parameters.add(0, id);
+                    ActionUtil.executeSelect(dataSource, SELECT_QUERY, parameters, recordType,
+                            StatementOptions.DEFAULT);
+                } else {
+                    parameters.add(0, bValue);
+                    parameters.add(1, id);
+                    ActionUtil.executeUpdate(dataSource, UPDATE_QUERY, parameters, StatementOptions.DEFAULT);
+                }
+            } catch (Throwable e) {
+                error = e;
+            }
+            if (error != null && result.firstError == null) {
+                result.firstError = error;
+            }
+            if (startTime >= warmupEnd) {
+                OperationResult operation = read ? result.reads : result.writes;
+                if (error != null) {
+                    operation.errors++;
+                } else {
+                    operation.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void report(WorkerResult result) throws IOException {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("threads", threads);
+        config.put("durationSeconds", durationSeconds);
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("readRatio", readRatio);
+        config.put("partitions", partitions);
+        config.put("valueSize", value.length());
+        config.put("embedded", !arguments.containsKey("host"));
+        config.put("connectionOptions", connectionOptions.getOverrides());
+
+        long operations = result.reads.latencies.getTotalCount() + result.writes.latencies.getTotalCount();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("operations", operations);
+        report.put("errors", result.reads.errors + result.writes.errors);
+        if (result.firstError != null) {
+            report.put("firstError", result.firstError.toString());
+        }
+        report.put("throughput", (double) operations / durationSeconds);
+        report.put("reads", result.reads.toReport(durationSeconds));
+        report.put("writes", result.writes.toReport(durationSeconds));
+
+        String output = arguments.get("output");
+        if (output == null) {
+            System.out.println(toJson(report));
+        } else {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8)) {
+                writer.write(toJson(report));
+                writer.write(System.lineSeparator());
+            }
+        }
+    }
+
+    private static String toJson(Object value) {
+        if (value instanceof Map) {
+            StringBuilder builder = new StringBuilder("{");
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (builder.length() > 1) {
+                    builder.append(", ");
+                }
+                builder.append(toJson(entry.getKey().toString())).append(": ").append(toJson(entry.getValue()));
+            }
+            return builder.append("}").toString();
+        } else if (value instanceof String) {
+            return quote((String) value);
+        }
+        return String.valueOf(value);
+    }
+
+    private static String quote(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * Results of the operations executed by a worker, or by all workers once merged.
+     */
+    private static final class WorkerResult {
+
+        private final OperationResult reads = new OperationResult();
+
+        private final OperationResult writes = new OperationResult();
+
+        /**
+         * Cause of the first failed operation, including the operations of the warm up.
+         */
+        private Throwable firstError;
+
+        private void add(WorkerResult other) {
+            reads.add(other.reads);
+            writes.add(other.writes);
+            if (firstError == null) {
+                firstError = other.firstError;
+            }
+        }
+    }
+
+    /**
+     * Latencies, in microseconds, of the successful operations of a kind and the number of failed ones.
+     */
+    private static final class OperationResult {
+
+        private final Histogram latencies = new Histogram(SIGNIFICANT_DIGITS);
+
+        private long errors;
+
+        private void add(OperationResult other) {
+            latencies.add(other.latencies);
+            errors += other.errors;
+        }
+
+        private Map<String, Object> toReport(long durationSeconds) {
+            Map<String, Object> latencyReport = new LinkedHashMap<>();
+            latencyReport.put("min", latencies.getMinValue());
+            latencyReport.put("mean", latencies.getMean());
+            latencyReport.put("p50", latencies.getValueAtPercentile(50));
+            latencyReport.put("p90", latencies.getValueAtPercentile(90));
+            latencyReport.put("p99", latencies.getValueAtPercentile(99));
+            latencyReport.put("p999", latencies.getValueAtPercentile(99.9));
+            latencyReport.put("max", latencies.getMaxValue());
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("operations", latencies.getTotalCount());
+            report.put("errors", errors);
+            report.put("throughput", (double) latencies.getTotalCount() / durationSeconds);
+            report.put("latencyMicros", latencyReport);
+            return report;
+        }
+    }
+}
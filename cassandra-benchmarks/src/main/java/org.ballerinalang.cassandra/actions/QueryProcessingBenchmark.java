@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra.actions;
+
+import org.ballerinalang.cassandra.benchmarks.BallerinaFixtures;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.api.BArray;
+import org.ballerinalang.jvm.values.api.BValueCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the expansion of queries with array parameters into one "?" per array element, both through the cache
+ * of expanded queries and by scanning the query from scratch.
+ *
+ * @since 0.99.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryProcessingBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int parameterCount;
+
+    @Param({"1", "16", "256"})
+    public int arrayLength;
+
+    private String query;
+
+    private BArray parameters;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("SELECT id, name, value FROM benchmark.data WHERE ");
+        parameters = BValueCreator.createArrayValue(new BArrayType(BTypes.typeMap));
+        long[] elements = new long[arrayLength];
+        for (int i = 0; i < arrayLength; i++) {
+            elements[i] = i;
+        }
+        for (int i = 0; i < parameterCount; i++) {
+            if (i > 0) {
+                builder.append(" AND ");
+            }
+            builder.append("c").append(i).append(" IN (?)");
+            parameters.add(i, BallerinaFixtures.parameter("INT", BallerinaFixtures.intArray(elements)));
+        }
+        query = builder.append(" AND name = 'a ? in a literal'").toString();
+    }
+
+    @Benchmark
+    public String createProcessedQueryString() {
+        return ActionUtil.createProcessedQueryString(query, parameters, true);
+    }
+
+    @Benchmark
+    public String expandQuery() {
+        String currentQuery = query;
+        int start = 0;
+        for (int i = 0; i < parameterCount; i++) {
+            Object[] result = ActionUtil.expandQuery(start, arrayLength, currentQuery);
+            start = (Integer) result[0];
+            currentQuery = (String) result[1];
+        }
+        return currentQuery;
+    }
+}
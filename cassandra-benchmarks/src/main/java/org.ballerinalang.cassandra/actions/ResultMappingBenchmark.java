@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra.actions;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.DriverFixtures;
+import com.datastax.driver.core.Row;
+import org.ballerinalang.cassandra.CassandraDataIterator;
+import org.ballerinalang.cassandra.ConnectorMetrics;
+import org.ballerinalang.cassandra.RowMapper;
+import org.ballerinalang.cassandra.benchmarks.BallerinaFixtures;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.values.TableValueImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of the rows of a result to records, for results of various widths and row counts. The rows
+ * are created once and hold values serialized the same way the server would, so only the decoding and the creation
+ * of the records is measured.
+ *
+ * @since 0.99.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultMappingBenchmark {
+
+    private static final DataType[] COLUMN_TYPES = {
+            DataType.cint(), DataType.text(), DataType.bigint(), DataType.cdouble(), DataType.cboolean()
+    };
+
+    @Param({"4", "16", "64"})
+    public int columnCount;
+
+    @Param({"1", "100", "10000"})
+    public int rowCount;
+
+    private ColumnDefinitions columns;
+
+    private List<Row> rows;
+
+    private BRecordType recordType;
+
+    private RowMapper rowMapper;
+
+    private ConnectorMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        List<String> names = new ArrayList<>(columnCount);
+        List<DataType> types = new ArrayList<>(columnCount);
+        Map<String, BType> fields = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            String name = "c" + i;
+            DataType type = COLUMN_TYPES[i % COLUMN_TYPES.length];
+            names.add(name);
+            types.add(type);
+            fields.put(name, BallerinaFixtures.toBallerinaType(type));
+        }
+        columns = DriverFixtures.columnDefinitions("benchmark", "data", names, types);
+        recordType = BallerinaFixtures.createRecordType("Row" + columnCount, fields);
+        rowMapper = new RowMapper(columns, recordType);
+        metrics = new ConnectorMetrics();
+
+        rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            Object[] values = new Object[columnCount];
+            for (int j = 0; j < columnCount; j++) {
+                values[j] = createValue(types.get(j), i);
+            }
+            rows.add(DriverFixtures.row(columns, values));
+        }
+    }
+
+    @Benchmark
+    public void generateNext(Blackhole blackhole) {
+        CassandraDataIterator iterator = createIterator();
+        while (iterator.next()) {
+            blackhole.consume(iterator.generateNext());
+        }
+    }
+
+    @Benchmark
+    public TableValueImpl getTable() {
+        return ActionUtil.getTable(createIterator(), recordType, metrics);
+    }
+
+    private CassandraDataIterator createIterator() {
+        return new CassandraDataIterator(DriverFixtures.resultSet(columns, rows), rowMapper);
+    }
+
+    private static Object createValue(DataType type, int row) {
+        switch (type.getName()) {
+            case INT:
+                return row;
+            case BIGINT:
+                return (long) row * Integer.MAX_VALUE;
+            case DOUBLE:
+                return row / 3.0;
+            case BOOLEAN:
+                return row % 2 == 0;
+            default:
+                return "value of row " + row;
+        }
+    }
+}
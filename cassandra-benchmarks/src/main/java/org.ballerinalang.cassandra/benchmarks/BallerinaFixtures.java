@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra.benchmarks;
+
+import com.datastax.driver.core.DataType;
+import org.ballerinalang.cassandra.Constants;
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.scheduling.Scheduler;
+import org.ballerinalang.jvm.scheduling.Strand;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.ObjectValue;
+import org.ballerinalang.jvm.values.ValueCreator;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the Ballerina types and values the connector works with, without a compiled Ballerina module. Record
+ * types are registered with value creators standing in for the ones of compiled modules, so the connector can
+ * instantiate them by name just like it does in a running program.
+ *
+ * @since 0.99.0
+ */
+public final class BallerinaFixtures {
+
+    public static final BPackage BENCHMARK_PACKAGE = new BPackage("ballerina", "cassandra_benchmarks");
+
+    private static final BPackage CASSANDRA_PACKAGE = new BPackage("ballerina", "cassandra");
+
+    private static final BenchmarkValueCreator BENCHMARK_VALUES = new BenchmarkValueCreator();
+
+    private static final BenchmarkValueCreator CASSANDRA_VALUES = new BenchmarkValueCreator();
+
+    private static final BRecordType PARAMETER_TYPE;
+
+    static {
+        ValueCreator.addValueCreator(BENCHMARK_PACKAGE.getOrg(), BENCHMARK_PACKAGE.getName(),
+                BENCHMARK_PACKAGE.getVersion(), BENCHMARK_VALUES);
+        ValueCreator.addValueCreator(CASSANDRA_PACKAGE.getOrg(), CASSANDRA_PACKAGE.getName(),
+                CASSANDRA_PACKAGE.getVersion(), CASSANDRA_VALUES);
+        Map<String, BType> parameterFields = new LinkedHashMap<>();
+        parameterFields.put("cqlType", BTypes.typeString);
+        parameterFields.put("value", BTypes.typeAnydata);
+        PARAMETER_TYPE = createRecordType(CASSANDRA_PACKAGE, Constants.CASSANDRA_PARAMETER, parameterFields);
+        CASSANDRA_VALUES.register(PARAMETER_TYPE);
+    }
+
+    private BallerinaFixtures() {
+    }
+
+    /**
+     * Registers the value creators of the fixtures, which is needed before the connector creates any record of
+     * its own, such as a parameter record for a plain parameter value.
+     */
+    public static void initialize() {
+        // The value creators are registered when the class is initialized.
+    }
+
+    /**
+     * Creates a closed record type with the given fields, which the connector can instantiate by name.
+     *
+     * @param name   Name of the record type
+     * @param fields Types of the fields, by field name
+     * @return Record type
+     */
+    public static BRecordType createRecordType(String name, Map<String, BType> fields) {
+        BRecordType recordType = createRecordType(BENCHMARK_PACKAGE, name, fields);
+        BENCHMARK_VALUES.register(recordType);
+        return recordType;
+    }
+
+    private static BRecordType createRecordType(BPackage pkg, String name, Map<String, BType> fields) {
+        BRecordType recordType = new BRecordType(name, pkg, 0, true, 0);
+        Map<String, BField> recordFields = new LinkedHashMap<>();
+        for (Map.Entry<String, BType> field : fields.entrySet()) {
+            recordFields.put(field.getKey(), new BField(field.getValue(), field.getKey(), 0));
+        }
+        recordType.setFields(recordFields);
+        return recordType;
+    }
+
+    /**
+     * Returns the Ballerina type the connector maps the given CQL type to.
+     *
+     * @param type CQL type
+     * @return Ballerina type
+     */
+    public static BType toBallerinaType(DataType type) {
+        switch (type.getName()) {
+            case INT:
+            case BIGINT:
+                return BTypes.typeInt;
+            case DOUBLE:
+            case FLOAT:
+                return BTypes.typeFloat;
+            case BOOLEAN:
+                return BTypes.typeBoolean;
+            default:
+                return BTypes.typeString;
+        }
+    }
+
+    /**
+     * Creates a {@code cassandra:Parameter} record.
+     *
+     * @param cqlType CQL type of the parameter
+     * @param value   Value of the parameter
+     * @return Parameter record
+     */
+    public static MapValue<BString, Object> parameter(String cqlType, Object value) {
+        MapValue<BString, Object> parameter = new MapValueImpl<>(PARAMETER_TYPE);
+        parameter.put(Constants.ParameterField.CQL_TYPE, StringUtils.fromString(cqlType));
+        parameter.put(Constants.ParameterField.VALUE, value);
+        return parameter;
+    }
+
+    /**
+     * Creates a Ballerina {@code int[]} of the given values.
+     *
+     * @param values Elements of the array
+     * @return Array holding the values
+     */
+    public static ArrayValue intArray(long... values) {
+        return new ArrayValueImpl(values);
+    }
+
+    /**
+     * Value creator of the record types of a module, which are registered by the fixtures.
+     */
+    private static final class BenchmarkValueCreator extends ValueCreator {
+
+        private final Map<String, BRecordType> recordTypes = new ConcurrentHashMap<>();
+
+        private void register(BRecordType recordType) {
+            recordTypes.put(recordType.getName(), recordType);
+        }
+
+        @Override
+        public MapValue<BString, Object> createRecordValue(String recordTypeName) {
+            BRecordType recordType = recordTypes.get(recordTypeName);
+            if (recordType == null) {
+                throw new IllegalArgumentException("no such record type: " + recordTypeName);
+            }
+            return new MapValueImpl<>(recordType);
+        }
+
+        @Override
+        public ObjectValue createObjectValue(String objectTypeName, Scheduler scheduler, Strand parent,
+                                             Map<String, Object> properties, Object[] args) {
+            throw new UnsupportedOperationException("no such object type: " + objectTypeName);
+        }
+    }
+}
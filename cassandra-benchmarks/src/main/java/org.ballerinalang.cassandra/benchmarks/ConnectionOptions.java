@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra.benchmarks;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the {@code cassandra:ConnectionProperties} a client is initialized with. The defaults of the fields are read
+ * from the record types of the module, which the build copies into the benchmarks, so that they cannot drift from
+ * the defaults clients get. Any field, including the fields of the nested option records, can be overridden by its
+ * path, such as {@code poolingOptionsConfig.maxConnectionsPerHostLocal}, with the value parsed according to the type
+ * of the field.
+ *
+ * @since 0.99.0
+ */
+public final class ConnectionOptions {
+
+    private static final String TYPES_RESOURCE = "/cassandra/types.bal";
+
+    private static final String ROOT_RECORD = "ConnectionProperties";
+
+    private static final Pattern RECORD_PATTERN = Pattern.compile("public type (\\w+) record \\{\\|(.*?)\\|};",
+            Pattern.DOTALL);
+
+    private static final Pattern FIELD_PATTERN = Pattern.compile("^\\s*(\\w+) (\\w+) = (.+);\\s*$", Pattern.MULTILINE);
+
+    private final Map<String, Object> properties = createDefaults();
+
+    private final Map<String, String> overrides = new LinkedHashMap<>();
+
+    /**
+     * Overrides the field at the given path.
+     *
+     * @param path  Name of the field, prefixed with the names of the records it is nested in
+     * @param value Value of the field
+     * @return This instance
+     */
+    public ConnectionOptions set(String path, String value) {
+        Map<String, Object> record = properties;
+        String[] names = path.split("\\.");
+        for (int i = 0; i < names.length - 1; i++) {
+            Object nested = record.get(names[i]);
+            if (!(nested instanceof Map)) {
+                throw new IllegalArgumentException("\"" + path + "\" is not a valid connection option");
+            }
+            record = (Map<String, Object>) nested;
+        }
+        String name = names[names.length - 1];
+        Object defaultValue = record.get(name);
+        if (defaultValue == null || defaultValue instanceof Map) {
+            throw new IllegalArgumentException("\"" + path + "\" is not a valid connection option");
+        }
+        if (defaultValue instanceof Long) {
+            record.put(name, Long.parseLong(value));
+        } else if (defaultValue instanceof Double) {
+            record.put(name, Double.parseDouble(value));
+        } else if (defaultValue instanceof Boolean) {
+            record.put(name, Boolean.parseBoolean(value));
+        } else {
+            record.put(name, value);
+        }
+        overrides.put(path, value);
+        return this;
+    }
+
+    /**
+     * Returns the fields which were overridden, by their paths.
+     *
+     * @return Overridden fields
+     */
+    public Map<String, String> getOverrides() {
+        return overrides;
+    }
+
+    /**
+     * Creates the record value the connector reads the options from.
+     *
+     * @return Connection properties
+     */
+    public MapValue<BString, Object> toMapValue() {
+        return toMapValue(properties);
+    }
+
+    private static MapValue<BString, Object> toMapValue(Map<String, Object> record) {
+        MapValue<BString, Object> value = new MapValueImpl<>();
+        for (Map.Entry<String, Object> field : record.entrySet()) {
+            Object fieldValue = field.getValue();
+            if (fieldValue instanceof Map) {
+                fieldValue = toMapValue((Map<String, Object>) fieldValue);
+            } else if (fieldValue instanceof String) {
+                fieldValue = StringUtils.fromString((String) fieldValue);
+            }
+            value.put(StringUtils.fromString(field.getKey()), fieldValue);
+        }
+        return value;
+    }
+
+    private static Map<String, Object> createDefaults() {
+        Map<String, String> records = new LinkedHashMap<>();
+        Matcher recordMatcher = RECORD_PATTERN.matcher(readTypes());
+        while (recordMatcher.find()) {
+            records.put(recordMatcher.group(1), recordMatcher.group(2));
+        }
+        return createDefaults(records, ROOT_RECORD);
+    }
+
+    /**
+     * Collects the default values of the fields of a record type, recursing into the fields of other record types.
+     */
+    private static Map<String, Object> createDefaults(Map<String, String> records, String recordName) {
+        String body = records.get(recordName);
+        if (body == null) {
+            throw new IllegalStateException("record type " + recordName + " is not defined in " + TYPES_RESOURCE);
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        Matcher fieldMatcher = FIELD_PATTERN.matcher(body);
+        while (fieldMatcher.find()) {
+            String type = fieldMatcher.group(1);
+            String name = fieldMatcher.group(2);
+            String defaultValue = fieldMatcher.group(3).trim();
+            switch (type) {
+                case "string":
+                    properties.put(name, defaultValue.substring(1, defaultValue.length() - 1));
+                    break;
+                case "int":
+                    properties.put(name, Long.parseLong(defaultValue));
+                    break;
+                case "float":
+                    properties.put(name, Double.parseDouble(defaultValue));
+                    break;
+                case "boolean":
+                    properties.put(name, Boolean.parseBoolean(defaultValue));
+                    break;
+                default:
+                    if (!records.containsKey(type) || !defaultValue.equals("{}")) {
+                        throw new IllegalStateException("field " + name + " of record type " + recordName
+                                + " is of an unsupported type " + type);
+                    }
+                    properties.put(name, createDefaults(records, type));
+                    break;
+            }
+        }
+        return properties;
+    }
+
+    private static String readTypes() {
+        InputStream stream = ConnectionOptions.class.getResourceAsStream(TYPES_RESOURCE);
+        if (stream == null) {
+            throw new IllegalStateException(TYPES_RESOURCE + " is not on the class path");
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read " + TYPES_RESOURCE, e);
+        }
+    }
+}
@@ -17,27 +17,28 @@
  */
 package org.ballerinalang.cassandra;
 
+import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
-import com.datastax.driver.core.exceptions.CodecNotFoundException;
+import com.datastax.driver.core.UserType;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.ballerinalang.jvm.ColumnDefinition;
 import org.ballerinalang.jvm.DataIterator;
-import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.StringUtils;
 import org.ballerinalang.jvm.types.BStructureType;
 import org.ballerinalang.jvm.types.TypeTags;
 import org.ballerinalang.jvm.values.DecimalValue;
 import org.ballerinalang.jvm.values.MapValue;
-import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.api.BArray;
+import org.ballerinalang.jvm.values.api.BMap;
+import org.ballerinalang.jvm.values.api.BString;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.nio.ByteBuffer;
-import java.nio.charset.Charset;
+import java.math.BigDecimal;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 
 /**
  * This iterator wraps a cassandra data row.
@@ -46,32 +47,98 @@ import java.util.Objects;
  */
 public class CassandraDataIterator implements DataIterator {
 
+    private ResultSet resultSet;
+
     private Iterator<Row> iterator;
 
     private Row current;
 
-    private List<ColumnDefinition> columnDefs;
+    private int prefetchThreshold;
+
+    private RowMapper rowMapper;
+
+    private Runnable closeAction;
 
-    private BStructureType bStructType;
+    public CassandraDataIterator(ResultSet rs, RowMapper rowMapper) {
+        this(rs, rowMapper, 0);
+    }
 
-    public CassandraDataIterator(ResultSet rs, List<ColumnDefinition> columnDefs, BStructureType recordType) {
+    /**
+     * Creates an iterator which requests the next page of the result in the background once the number of rows
+     * left in the current page drops to the given threshold.
+     *
+     * @param rs                Result set to iterate
+     * @param rowMapper         Mapper of the rows of the result to records
+     * @param prefetchThreshold Number of remaining rows at which the next page is requested
+     */
+    public CassandraDataIterator(ResultSet rs, RowMapper rowMapper, int prefetchThreshold) {
+        this.resultSet = rs;
         this.iterator = rs.iterator();
-        this.columnDefs = columnDefs;
-        this.bStructType = recordType;
+        this.rowMapper = rowMapper;
+        this.prefetchThreshold = prefetchThreshold;
+    }
+
+    /**
+     * Creates an iterator over rows which have already been fetched, such as the rows of a cached result.
+     *
+     * @param rows      Rows to iterate
+     * @param rowMapper Mapper of the rows to records
+     */
+    public CassandraDataIterator(Iterator<Row> rows, RowMapper rowMapper) {
+        this.iterator = rows;
+        this.rowMapper = rowMapper;
+    }
+
+    /**
+     * Creates an iterator whose rows are not read from a single result set. Such an iterator overrides
+     * {@link #next()} and provides the rows through {@link #setCurrentRow(Row)}.
+     *
+     * @param rowMapper Mapper of the rows to records
+     */
+    protected CassandraDataIterator(RowMapper rowMapper) {
+        this.rowMapper = rowMapper;
     }
 
     @Override
     public boolean next() {
+        if (this.resultSet != null && this.resultSet.getAvailableWithoutFetching() <= this.prefetchThreshold
+                && !this.resultSet.isFullyFetched()) {
+            // Returns the already pending fetch, if there is one, without issuing another request.
+            this.resultSet.fetchMoreResults();
+        }
         boolean result = this.iterator.hasNext();
         if (result) {
             this.current = this.iterator.next();
+        } else {
+            close();
         }
         return result;
     }
 
+    /**
+     * Closes the iterator, which may happen before its last row has been read. No further pages are fetched, and the
+     * rows of the current page are released. An iterator is closed implicitly once its last row has been read.
+     */
     @Override
     public void close() {
-        /* ignore */
+        this.resultSet = null;
+        this.iterator = Collections.emptyIterator();
+        this.current = null;
+        Runnable action = this.closeAction;
+        this.closeAction = null;
+        if (action != null) {
+            action.run();
+        }
+    }
+
+    /**
+     * Registers an action which is run once, when the iterator is closed, such as releasing a resource held until the
+     * result has been read.
+     *
+     * @param action Action to be run
+     */
+    public void onClose(Runnable action) {
+        this.closeAction = action;
     }
 
     @Override
@@ -82,139 +149,122 @@ public class CassandraDataIterator implements DataIterator {
     @Override
     public String getString(int columnIndex) {
         this.checkCurrentRow();
-        return this.current.getString(columnIndex - 1);
+        return (String) this.rowMapper.decode(this.current, columnIndex - 1);
     }
 
     @Override
     public Long getInt(int columnIndex) {
         this.checkCurrentRow();
-        return (long) this.current.getInt(columnIndex - 1);
+        return (Long) this.rowMapper.decode(this.current, columnIndex - 1);
     }
 
     @Override
     public Double getFloat(int columnIndex) {
         this.checkCurrentRow();
-        double val;
-        try {
-            val = this.current.getFloat(columnIndex - 1);
-        } catch (CodecNotFoundException e) {
-            /* Since ballerina does not have a typeTag value associated to double,
-              the Cassandra data type double is also labelled "float"
-              But it cannot be directly accessed through `getFloat`.
-              It should be retrieved using `getDouble` */
-            if (e.getMessage().contains("Codec not found for requested operation: [double <-> java.lang.Float]")) {
-                val = this.current.getDouble(columnIndex - 1);
-            } else {
-                throw new BallerinaException("error in retrieving a float value: " + e.getMessage());
-            }
-        }
-        return val;
+        Object value = this.rowMapper.decode(this.current, columnIndex - 1);
+        return value instanceof DecimalValue ? ((DecimalValue) value).floatValue() : (Double) value;
     }
 
     @Override
     public Boolean getBoolean(int columnIndex) {
         this.checkCurrentRow();
-        return this.current.getBool(columnIndex - 1);
+        return (Boolean) this.rowMapper.decode(this.current, columnIndex - 1);
     }
 
     @Override
     public String getBlob(int columnIndex) {
         this.checkCurrentRow();
-        return getString(this.current.getBytes(columnIndex - 1));
+        byte[] value = ColumnDecoders.getBytes(this.current, columnIndex - 1);
+        return value != null ? Base64.getEncoder().encodeToString(value) : null;
     }
 
     @Override
-    public DecimalValue getDecimal(int i) {
-        return null;
+    public DecimalValue getDecimal(int columnIndex) {
+        this.checkCurrentRow();
+        Object value = this.rowMapper.decode(this.current, columnIndex - 1);
+        if (value == null || value instanceof DecimalValue) {
+            return (DecimalValue) value;
+        }
+        return new DecimalValue(BigDecimal.valueOf(((Number) value).doubleValue()));
     }
 
+    /**
+     * Returns the field values of a user defined type column, in the order of the type definition with unmapped
+     * fields as {@code null}, or the components of a tuple column.
+     */
     @Override
-    public Object[] getStruct(int i) {
-        return new Object[0];
+    public Object[] getStruct(int columnIndex) {
+        this.checkCurrentRow();
+        Object value = this.rowMapper.decode(this.current, columnIndex - 1);
+        if (value == null) {
+            return new Object[0];
+        }
+        DataType type = this.current.getColumnDefinitions().getType(columnIndex - 1);
+        if (value instanceof BMap && type instanceof UserType) {
+            // Values follow the order of the fields of the type, which the record or map need not preserve
+            BMap<BString, Object> fields = (BMap<BString, Object>) value;
+            Object[] values = new Object[((UserType) type).size()];
+            int i = 0;
+            for (UserType.Field field : (UserType) type) {
+                values[i++] = fields.get(StringUtils.fromString(field.getName()));
+            }
+            return values;
+        }
+        if (value instanceof BArray && ((BArray) value).getType().getTag() == TypeTags.TUPLE_TAG) {
+            return toArray((BArray) value);
+        }
+        throw new BallerinaException("column " + columnIndex + " is not a user defined type or tuple column");
     }
 
+    /**
+     * Returns the elements of a list or set column, or {@code null} if the column is null.
+     */
     @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS",
-                        justification = "Functionality of obtaining an array is not implemented therefore it would be"
-                                + " incorrect to return an empty array")
+                        justification = "A null column is distinguished from an empty collection")
     @Override
     public Object[] getArray(int columnIndex) {
-        return null;
+        this.checkCurrentRow();
+        Object value = this.rowMapper.decode(this.current, columnIndex - 1);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof BArray) || ((BArray) value).getType().getTag() != TypeTags.ARRAY_TAG) {
+            throw new BallerinaException("column " + columnIndex + " is not a list or set column");
+        }
+        return toArray((BArray) value);
     }
 
     @Override
     public MapValue<String, Object> generateNext() {
-        MapValue<String, Object> bStruct = new MapValueImpl<>();
-        int index = 0;
-        /* For each column definition check if there is a corresponding field value in the record type passed,
-         if there is a field, populate it with the value */
-        for (ColumnDefinition columnDef : columnDefs) {
-            String columnName = columnDef.getName();
-            BField field = getField(columnName);
-            ++index;
-            if (!Objects.isNull(field)) {
-                int type = columnDef.getTypeTag();
-                String fieldName = field.getFieldName();
-                switch (type) {
-                    case TypeTags.STRING_TAG:
-                        String sValue = getString(index);
-                        bStruct.put(fieldName, sValue);
-                        break;
-                    case TypeTags.INT_TAG:
-                        long lValue = getInt(index);
-                        bStruct.put(fieldName, lValue);
-                        break;
-                    case TypeTags.FLOAT_TAG:
-                        double fValue = getFloat(index);
-                        bStruct.put(fieldName, fValue);
-                        break;
-                    case TypeTags.BOOLEAN_TAG:
-                        boolean boolValue = getBoolean(index);
-                        bStruct.put(fieldName, boolValue);
-                        break;
-                    default:
-                        throw new BallerinaException("unsupported sql type found for the column " + columnName);
-                }
-            }
-        }
-        return bStruct;
-    }
-
-    // Return the field if there is a field that equals to the column name, if not return null.
-    private BField getField(String columnName) {
-        Map<String, BField> recordFields = this.bStructType.getFields();
-        for (BField field : recordFields.values()) {
-            if (field.getFieldName().equals(columnName)) {
-                return field;
-            }
-        }
-        return null;
+        this.checkCurrentRow();
+        return this.rowMapper.map(this.current);
     }
 
     @Override
     public List<ColumnDefinition> getColumnDefinitions() {
-        return this.columnDefs;
+        return this.rowMapper.getColumnDefinitions();
     }
 
     @Override
     public BStructureType getStructType() {
-        return this.bStructType;
+        return this.rowMapper.getStructType();
     }
 
-    private void checkCurrentRow() {
-        if (this.current == null) {
-            throw new BallerinaException("invalid position in the data iterator");
-        }
+    protected void setCurrentRow(Row row) {
+        this.current = row;
     }
 
-    private static String getString(ByteBuffer data) {
-        if (data == null) {
-            return null;
+    private static Object[] toArray(BArray array) {
+        Object[] elements = new Object[array.size()];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = array.get(i);
         }
-        byte[] encode = getBase64Encode(new String(data.array(), Charset.defaultCharset()));
-        return new String(encode, Charset.defaultCharset());
+        return elements;
     }
 
-    private static byte[] getBase64Encode(String st) {
-        return Base64.getEncoder().encode(st.getBytes(Charset.defaultCharset()));
+    private void checkCurrentRow() {
+        if (this.current == null) {
+            throw new BallerinaException("invalid position in the data iterator");
+        }
     }
 }
@@ -18,17 +18,20 @@
 package org.ballerinalang.cassandra;
 
 import com.datastax.driver.core.Cluster;
-import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.HostDistance;
+import com.datastax.driver.core.PerHostPercentileTracker;
+import com.datastax.driver.core.PercentileTracker;
 import com.datastax.driver.core.PlainTextAuthProvider;
 import com.datastax.driver.core.PoolingOptions;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ProtocolOptions;
 import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.QueryOptions;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SocketOptions;
-import com.datastax.driver.core.exceptions.DriverInternalError;
 import com.datastax.driver.core.policies.ConstantReconnectionPolicy;
+import com.datastax.driver.core.policies.ConstantSpeculativeExecutionPolicy;
 import com.datastax.driver.core.policies.DCAwareRoundRobinPolicy;
 import com.datastax.driver.core.policies.DefaultRetryPolicy;
 import com.datastax.driver.core.policies.DowngradingConsistencyRetryPolicy;
@@ -36,17 +39,33 @@ import com.datastax.driver.core.policies.ExponentialReconnectionPolicy;
 import com.datastax.driver.core.policies.FallthroughRetryPolicy;
 import com.datastax.driver.core.policies.LatencyAwarePolicy;
 import com.datastax.driver.core.policies.LoggingRetryPolicy;
+import com.datastax.driver.core.policies.NoSpeculativeExecutionPolicy;
+import com.datastax.driver.core.policies.PercentileSpeculativeExecutionPolicy;
 import com.datastax.driver.core.policies.RoundRobinPolicy;
 import com.datastax.driver.core.policies.TokenAwarePolicy;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.types.BStructureType;
 import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.values.MapValue;
 import org.ballerinalang.jvm.values.api.BString;
 import org.ballerinalang.jvm.values.api.BValue;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * {@code CassandraDataSource} util class for Cassandra connector initialization.
@@ -55,10 +74,72 @@ import java.util.Map;
  */
 public class CassandraDataSource implements BValue {
 
+    private static final long DEFAULT_PREPARED_STATEMENT_CACHE_SIZE = 256;
+
+    private static final long ROW_MAPPER_CACHE_SIZE = 256;
+
+    private static final long DEFAULT_HIGHEST_TRACKABLE_LATENCY_MILLIS = 15000;
+
     private Cluster cluster;
 
     private Session session;
 
+    private PreparedStatementCache preparedStatementCache;
+
+    private boolean asyncExecution;
+
+    private boolean expandArrayParameters = true;
+
+    private RequestLimiter requestLimiter;
+
+    private boolean idempotentQueries;
+
+    private ResultCache resultCache;
+
+    private ExecutorService resultExecutor;
+
+    private final ConnectorMetrics connectorMetrics;
+
+    private final Cache<RowMapperKey, RowMapper> rowMappers;
+
+    private final Map<String, CassandraDataSource> keyspaceDataSources;
+
+    private final String keyspace;
+
+    // Number of clients using the session of a keyspace data source, guarded by keyspaceDataSources
+    private int sessionReferences;
+
+    public CassandraDataSource() {
+        this.connectorMetrics = new ConnectorMetrics();
+        this.rowMappers = CacheBuilder.newBuilder().maximumSize(ROW_MAPPER_CACHE_SIZE).build();
+        this.keyspaceDataSources = new HashMap<>();
+        this.keyspace = null;
+    }
+
+    /**
+     * Creates a data source which shares the cluster, caches, limits and metrics of the given data source, but
+     * executes statements on the given session.
+     *
+     * @param dataSource Data source whose cluster is shared
+     * @param keyspace   Keyspace the session is connected to, or an empty string for none
+     * @param session    Session the statements are executed on
+     */
+    private CassandraDataSource(CassandraDataSource dataSource, String keyspace, Session session) {
+        this.keyspace = keyspace;
+        this.cluster = dataSource.cluster;
+        this.session = session;
+        this.preparedStatementCache = dataSource.preparedStatementCache;
+        this.asyncExecution = dataSource.asyncExecution;
+        this.expandArrayParameters = dataSource.expandArrayParameters;
+        this.requestLimiter = dataSource.requestLimiter;
+        this.idempotentQueries = dataSource.idempotentQueries;
+        this.resultCache = dataSource.resultCache;
+        this.resultExecutor = dataSource.resultExecutor;
+        this.connectorMetrics = dataSource.connectorMetrics;
+        this.rowMappers = dataSource.rowMappers;
+        this.keyspaceDataSources = dataSource.keyspaceDataSources;
+    }
+
     public Cluster getCluster() {
         return cluster;
     }
@@ -67,8 +148,149 @@ public class CassandraDataSource implements BValue {
         return session;
     }
 
+    public PreparedStatementCache getPreparedStatementCache() {
+        return preparedStatementCache;
+    }
+
+    public boolean isAsyncExecution() {
+        return asyncExecution;
+    }
+
+    public boolean isExpandArrayParameters() {
+        return expandArrayParameters;
+    }
+
+    public ConnectorMetrics getConnectorMetrics() {
+        return connectorMetrics;
+    }
+
+    public boolean isIdempotentQueries() {
+        return idempotentQueries;
+    }
+
+    /**
+     * Returns the limiter of the requests in flight, or {@code null} if the number of requests is not limited.
+     *
+     * @return Request limiter of the client
+     */
+    public RequestLimiter getRequestLimiter() {
+        return requestLimiter;
+    }
+
+    /**
+     * Returns the cache of the results of select statements, or {@code null} if results are not cached.
+     *
+     * @return Result cache of the client
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Returns the executor the results of asynchronously executed statements are mapped on, so that rows are never
+     * mapped on the I/O threads of the driver, or {@code null} if statements are executed synchronously.
+     *
+     * @return Executor of the result mapping
+     */
+    public ExecutorService getResultExecutor() {
+        return resultExecutor;
+    }
+
+    /**
+     * Returns a data source which executes statements in the given keyspace, so that the tables of the keyspace
+     * need not be qualified. The data source shares the cluster of this data source and its session is connected
+     * straight to the keyspace, once per keyspace. Each call takes a reference to the session, which must be returned
+     * through {@link #releaseKeyspace}. Prepared statements and cached results stay specific to the keyspace they were
+     * prepared in.
+     *
+     * @param keyspace Keyspace the statements are executed in, or an empty string for none
+     * @return Data source for the keyspace
+     */
+    public CassandraDataSource forKeyspace(String keyspace) {
+        synchronized (keyspaceDataSources) {
+            CassandraDataSource keyspaceDataSource = keyspaceDataSources.get(keyspace);
+            if (keyspaceDataSource == null) {
+                Session keyspaceSession = keyspace.isEmpty() ? cluster.connect() : cluster.connect(keyspace);
+                keyspaceDataSource = new CassandraDataSource(this, keyspace, keyspaceSession);
+                keyspaceDataSources.put(keyspace, keyspaceDataSource);
+            }
+            keyspaceDataSource.sessionReferences++;
+            return keyspaceDataSource;
+        }
+    }
+
     /**
-     * Initializes the Cassandra cluster.
+     * Returns a reference taken by {@link #forKeyspace}, closing the session of the keyspace once its last
+     * reference has been returned.
+     *
+     * @param keyspaceDataSource Data source returned by {@link #forKeyspace}
+     * @return {@code true} if the session of the keyspace has been closed
+     */
+    public boolean releaseKeyspace(CassandraDataSource keyspaceDataSource) {
+        synchronized (keyspaceDataSources) {
+            if (keyspaceDataSource.keyspace == null || --keyspaceDataSource.sessionReferences > 0) {
+                return false;
+            }
+            keyspaceDataSources.remove(keyspaceDataSource.keyspace);
+        }
+        keyspaceDataSource.session.close();
+        return true;
+    }
+
+    /**
+     * Returns a prepared statement for the given query, reusing a previously prepared one when it is cached.
+     *
+     * @param query Processed CQL query
+     * @return Prepared statement for the query
+     */
+    public PreparedStatement prepare(String query) {
+        return preparedStatementCache.get(session, query);
+    }
+
+    /**
+     * Asynchronous variant of {@link #prepare(String)}.
+     *
+     * @param query Processed CQL query
+     * @return Future of the prepared statement for the query
+     */
+    public ListenableFuture<PreparedStatement> prepareAsync(String query) {
+        return preparedStatementCache.getAsync(session, query);
+    }
+
+    /**
+     * Prepares the given statements concurrently, adding them to the prepared statement cache. The connection pools
+     * need no warm-up, as the session opens the core connections to every host while it is connected.
+     *
+     * @param statements Statements to be prepared
+     * @return Future which completes once the warm-up finishes and fails if a statement cannot be prepared
+     */
+    public ListenableFuture<List<Object>> warmUp(List<String> statements) {
+        List<ListenableFuture<?>> tasks = new ArrayList<>();
+        for (String statement : statements) {
+            tasks.add(prepareAsync(statement));
+        }
+        return Futures.allAsList(tasks);
+    }
+
+    /**
+     * Returns the mapper for rows with the given columns and record type, creating it if it is not cached yet.
+     *
+     * @param columnDefinitions Column definitions of the result
+     * @param structType        Record type the rows are mapped to
+     * @return Row mapper for the result
+     */
+    public RowMapper getRowMapper(ColumnDefinitions columnDefinitions, BStructureType structType) {
+        try {
+            return rowMappers.get(new RowMapperKey(columnDefinitions.asList(), structType),
+                    () -> new RowMapper(columnDefinitions, structType,
+                            cluster.getConfiguration().getProtocolOptions().getProtocolVersion()));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Initializes the Cassandra cluster and connects a session without a keyspace.
      *
      * @param host     Host(s) Cassandra instance(s) reside(s)
      * @param port     Port for the Cassandra instance(s)
@@ -77,17 +299,121 @@ public class CassandraDataSource implements BValue {
      * @param options  BStruct containing available options for cluster connection initialization
      */
     public void init(String host, int port, String username, String password, MapValue options) {
+        initCluster(host, port, username, password, options);
+        try {
+            this.session = this.cluster.connect();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Initializes the Cassandra cluster without connecting a session, so that the sessions of the data source are
+     * only connected by {@link #forKeyspace}, each to its keyspace.
+     *
+     * @param host     Host(s) Cassandra instance(s) reside(s)
+     * @param port     Port for the Cassandra instance(s)
+     * @param username Username if authentication is enabled
+     * @param password Password if authentication is enabled
+     * @param options  BStruct containing available options for cluster connection initialization
+     */
+    public void initCluster(String host, int port, String username, String password, MapValue options) {
         Cluster.Builder builder = Cluster.builder();
         builder.addContactPoints(host.split(",")).build();
         if (port != -1) {
             builder.withPort(port);
         }
         populateAuthenticationOptions(builder, username, password);
+        long preparedStatementCacheSize = DEFAULT_PREPARED_STATEMENT_CACHE_SIZE;
         if (options != null) {
             builder = this.populateOptions(builder, options);
+            preparedStatementCacheSize = options.getIntValue(StringUtils.fromString(
+                    ConnectionParam.PREPARED_STATEMENT_CACHE_SIZE.getKey()));
+            if (preparedStatementCacheSize < 0) {
+                throw new BallerinaException("preparedStatementCacheSize cannot be negative");
+            }
+            this.asyncExecution = options.getBooleanValue(StringUtils.fromString(
+                    ConnectionParam.ASYNC_EXECUTION.getKey()));
+            this.expandArrayParameters = options.getBooleanValue(StringUtils.fromString(
+                    ConnectionParam.EXPAND_ARRAY_PARAMETERS.getKey()));
+            this.requestLimiter = createRequestLimiter(options);
+            this.idempotentQueries = options.getBooleanValue(StringUtils.fromString(
+                    ConnectionParam.IDEMPOTENT_QUERIES.getKey()));
+            this.resultCache = createResultCache(options);
         }
         this.cluster = builder.build();
-        this.session = this.cluster.connect();
+        this.preparedStatementCache = new PreparedStatementCache(preparedStatementCacheSize);
+        if (this.asyncExecution) {
+            this.resultExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    new ThreadFactoryBuilder().setNameFormat("cassandra-result-%d").setDaemon(true).build());
+        }
+        try {
+            // Connects to the cluster, so that an unreachable cluster fails the initialization
+            this.cluster.init();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the cluster, along with the sessions of all keyspaces, and stops the result executor.
+     */
+    public void close() {
+        cluster.close();
+        if (resultExecutor != null) {
+            resultExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Creates the limiter of the requests in flight if a maximum number of requests is configured.
+     *
+     * @param options BStruct containing available options for cluster connection initialization
+     * @return Request limiter or {@code null} if requests are not limited
+     */
+    private RequestLimiter createRequestLimiter(MapValue options) {
+        long maxInFlightRequests = options.getIntValue(StringUtils.fromString(
+                ConnectionParam.MAX_IN_FLIGHT_REQUESTS.getKey()));
+        long acquireTimeoutMillis = options.getIntValue(StringUtils.fromString(
+                ConnectionParam.IN_FLIGHT_REQUEST_ACQUIRE_TIMEOUT_MILLIS.getKey()));
+        if (maxInFlightRequests == -1) {
+            return null;
+        }
+        if (maxInFlightRequests <= 0) {
+            throw new BallerinaException("maxInFlightRequests should be a positive number");
+        }
+        if (acquireTimeoutMillis < 0) {
+            throw new BallerinaException("inFlightRequestAcquireTimeoutMillis cannot be negative");
+        }
+        return new RequestLimiter(Math.toIntExact(maxInFlightRequests), acquireTimeoutMillis);
+    }
+
+    /**
+     * Creates the cache of the results of select statements if a maximum number of cached results is configured.
+     *
+     * @param options BStruct containing available options for cluster connection initialization
+     * @return Result cache or {@code null} if results are not cached
+     */
+    private ResultCache createResultCache(MapValue options) {
+        long maxEntries = options.getIntValue(StringUtils.fromString(
+                ConnectionParam.RESULT_CACHE_MAX_ENTRIES.getKey()));
+        long maxBytes = options.getIntValue(StringUtils.fromString(ConnectionParam.RESULT_CACHE_MAX_BYTES.getKey()));
+        long ttlMillis = options.getIntValue(StringUtils.fromString(ConnectionParam.RESULT_CACHE_TTL_MILLIS.getKey()));
+        if (maxEntries < 0) {
+            throw new BallerinaException("resultCacheMaxEntries cannot be negative");
+        }
+        if (maxEntries == 0) {
+            return null;
+        }
+        if (maxBytes <= 0) {
+            throw new BallerinaException("resultCacheMaxBytes should be a positive number");
+        }
+        if (ttlMillis <= 0) {
+            throw new BallerinaException("resultCacheTtlMillis should be a positive number");
+        }
+        return new ResultCache(maxEntries, maxBytes, ttlMillis);
     }
 
     /**
@@ -136,6 +462,7 @@ public class CassandraDataSource implements BValue {
         populateLoadBalancingPolicy(builder, options);
         populateReconnectionPolicy(builder, options);
         populateRetryPolicy(builder, options);
+        populateSpeculativeExecutionPolicy(builder, options);
 
         return builder;
     }
@@ -185,6 +512,88 @@ public class CassandraDataSource implements BValue {
         }
     }
 
+    /**
+     * Populates Speculative Execution Policy options in the Cluster Builder. Speculative executions are only started
+     * for idempotent statements.
+     *
+     * @param builder Cluster Builder
+     * @param options BStruct containing available options for cluster connection initialization
+     */
+    private void populateSpeculativeExecutionPolicy(Cluster.Builder builder, MapValue options) {
+        BString speculativeExecutionPolicyString = options.getStringValue(StringUtils.fromString(
+                ConnectionParam.SPECULATIVE_EXECUTION_POLICY.getKey()));
+        if (speculativeExecutionPolicyString.toString().equals("")) {
+            return;
+        }
+        SpeculativeExecutionPolicy speculativeExecutionPolicy =
+                retrieveSpeculativeExecutionPolicy(speculativeExecutionPolicyString.toString());
+        int maxSpeculativeExecutions = Math.toIntExact(options.getIntValue(StringUtils.fromString(
+                ConnectionParam.MAX_SPECULATIVE_EXECUTIONS.getKey())));
+        switch (speculativeExecutionPolicy) {
+            case NO_SPECULATIVE_EXECUTION_POLICY:
+                builder.withSpeculativeExecutionPolicy(NoSpeculativeExecutionPolicy.INSTANCE);
+                break;
+            case CONSTANT_SPECULATIVE_EXECUTION_POLICY:
+                long constantSpeculativeExecutionPolicyDelay = options.getIntValue(StringUtils.fromString(
+                        ConnectionParam.CONSTANT_SPECULATIVE_EXECUTION_POLICY_DELAY.getKey()));
+                if (constantSpeculativeExecutionPolicyDelay == -1 || maxSpeculativeExecutions == -1) {
+                    throw new BallerinaException("constantSpeculativeExecutionPolicyDelay or "
+                            + "maxSpeculativeExecutions required for the initialization of "
+                            + "ConstantSpeculativeExecutionPolicy, has not been set");
+                }
+                if (constantSpeculativeExecutionPolicyDelay < 0) {
+                    throw new BallerinaException("constantSpeculativeExecutionPolicyDelay cannot be negative");
+                }
+                if (maxSpeculativeExecutions <= 0) {
+                    throw new BallerinaException("maxSpeculativeExecutions should be a positive number");
+                }
+                builder.withSpeculativeExecutionPolicy(new ConstantSpeculativeExecutionPolicy(
+                        constantSpeculativeExecutionPolicyDelay, maxSpeculativeExecutions));
+                break;
+            case PERCENTILE_SPECULATIVE_EXECUTION_POLICY:
+                double percentile = options.getFloatValue(StringUtils.fromString(
+                        ConnectionParam.PERCENTILE_SPECULATIVE_EXECUTION_POLICY_PERCENTILE.getKey()));
+                if (percentile == -1 || maxSpeculativeExecutions == -1) {
+                    throw new BallerinaException("percentileSpeculativeExecutionPolicyPercentile or "
+                            + "maxSpeculativeExecutions required for the initialization of "
+                            + "PercentileSpeculativeExecutionPolicy, has not been set");
+                }
+                if (percentile <= 0 || percentile >= 100) {
+                    throw new BallerinaException("percentileSpeculativeExecutionPolicyPercentile should be greater "
+                            + "than 0 and less than 100");
+                }
+                if (maxSpeculativeExecutions <= 0) {
+                    throw new BallerinaException("maxSpeculativeExecutions should be a positive number");
+                }
+                long highestTrackableLatencyMillis = options.getIntValue(StringUtils.fromString(
+                        ConnectionParam.HIGHEST_TRACKABLE_LATENCY_MILLIS.getKey()));
+                if (highestTrackableLatencyMillis == -1) {
+                    highestTrackableLatencyMillis = DEFAULT_HIGHEST_TRACKABLE_LATENCY_MILLIS;
+                } else if (highestTrackableLatencyMillis <= 0) {
+                    throw new BallerinaException("highestTrackableLatencyMillis should be a positive number");
+                }
+                // The tracker is registered with the cluster when the policy is initialized
+                PercentileTracker percentileTracker =
+                        PerHostPercentileTracker.builder(highestTrackableLatencyMillis).build();
+                builder.withSpeculativeExecutionPolicy(new PercentileSpeculativeExecutionPolicy(percentileTracker,
+                        percentile, maxSpeculativeExecutions));
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Support for the speculative execution policy \"" + speculativeExecutionPolicy +
+                                "\" is not implemented yet");
+        }
+    }
+
+    private SpeculativeExecutionPolicy retrieveSpeculativeExecutionPolicy(String speculativeExecutionPolicy) {
+        try {
+            return SpeculativeExecutionPolicy.fromPolicyName(speculativeExecutionPolicy);
+        } catch (IllegalArgumentException e) {
+            throw new BallerinaException("\"" + speculativeExecutionPolicy + "\""
+                    + " is not a valid speculative execution policy");
+        }
+    }
+
     /**
      * Populates Reconnection Policy options in the Cluster Builder.
      *
@@ -361,10 +770,12 @@ public class CassandraDataSource implements BValue {
                 .getIntValue(StringUtils.fromString(QueryOptionsParam.REFRESH_SCHEMA_INTERVAL_MILLIS.getKey())));
 
         if (!consistencyLevel.toString().equals("")) {
-            queryOptions.setConsistencyLevel(retrieveConsistencyLevel(consistencyLevel.toString()));
+            queryOptions.setConsistencyLevel(
+                    CassandraDataSourceUtils.retrieveConsistencyLevel(consistencyLevel.toString()));
         }
         if (!serialConsistencyLevel.toString().equals("")) {
-            queryOptions.setSerialConsistencyLevel(retrieveSerialConsistencyLevel(serialConsistencyLevel.toString()));
+            queryOptions.setSerialConsistencyLevel(
+                    CassandraDataSourceUtils.retrieveSerialConsistencyLevel(serialConsistencyLevel.toString()));
         }
         queryOptions.setDefaultIdempotence(defaultIdempotence);
         queryOptions.setMetadataEnabled(metadataEnabled);
@@ -581,24 +992,38 @@ public class CassandraDataSource implements BValue {
         }
     }
 
-    private ConsistencyLevel retrieveSerialConsistencyLevel(String consistencyLevel) {
-        try {
-            ConsistencyLevel serialConsistencyLevel = ConsistencyLevel.valueOf(consistencyLevel);
-            if (serialConsistencyLevel.isSerial()) {
-                return serialConsistencyLevel;
-            } else {
-                throw new BallerinaException("\"" + consistencyLevel + "\" is not a valid serial consistency level");
+    /**
+     * Identifies a row mapper by the columns of the result and the record type, which is compared by identity.
+     */
+    private static final class RowMapperKey {
+
+        private final List<ColumnDefinitions.Definition> columns;
+
+        private final BStructureType structType;
+
+        private final int hash;
+
+        private RowMapperKey(List<ColumnDefinitions.Definition> columns, BStructureType structType) {
+            this.columns = columns;
+            this.structType = structType;
+            this.hash = 31 * columns.hashCode() + System.identityHashCode(structType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RowMapperKey)) {
+                return false;
             }
-        } catch (DriverInternalError e) {
-            throw new BallerinaException("\"" + consistencyLevel + "\" is not a valid serial consistency level");
+            RowMapperKey that = (RowMapperKey) o;
+            return structType == that.structType && Objects.equals(columns, that.columns);
         }
-    }
 
-    private ConsistencyLevel retrieveConsistencyLevel(String consistencyLevel) {
-        try {
-            return ConsistencyLevel.valueOf(consistencyLevel);
-        } catch (DriverInternalError e) {
-            throw new BallerinaException("\"" + consistencyLevel + "\" is not a valid consistency level");
+        @Override
+        public int hashCode() {
+            return hash;
         }
     }
 
@@ -693,17 +1118,29 @@ public class CassandraDataSource implements BValue {
         // string params
         CLUSTER_NAME("clusterName"), LOAD_BALANCING_POLICY("loadBalancingPolicy"), RECONNECTION_POLICY(
                 "reconnectionPolicy"), RETRY_POLICY("retryPolicy"), DATA_CENTER("dataCenter"),
+        SPECULATIVE_EXECUTION_POLICY("speculativeExecutionPolicy"),
 
         // boolean params
         WITHOUT_METRICS("withoutMetrics"), WITHOUT_JMX_REPORTING(
                 "withoutJMXReporting"), ALLOW_REMOTE_DCS_FOR_LOCAL_CONSISTENCY_LEVEL(
-                "allowRemoteDCsForLocalConsistencyLevel"),
+                "allowRemoteDCsForLocalConsistencyLevel"), ASYNC_EXECUTION("asyncExecution"),
+        EXPAND_ARRAY_PARAMETERS("expandArrayParameters"), IDEMPOTENT_QUERIES("idempotentQueries"),
 
         // int params
         CONSTANT_RECONNECTION_POLICY_DELAY(
                 "constantReconnectionPolicyDelay"), EXPONENTIAL_RECONNECTION_POLICY_BASE_DELAY(
                 "exponentialReconnectionPolicyBaseDelay"), EXPONENTIAL_RECONNECTION_POLICY_MAX_DELAY(
-                "exponentialReconnectionPolicyMaxDelay"),
+                "exponentialReconnectionPolicyMaxDelay"), PREPARED_STATEMENT_CACHE_SIZE("preparedStatementCacheSize"),
+        MAX_IN_FLIGHT_REQUESTS("maxInFlightRequests"),
+        IN_FLIGHT_REQUEST_ACQUIRE_TIMEOUT_MILLIS("inFlightRequestAcquireTimeoutMillis"),
+        CONSTANT_SPECULATIVE_EXECUTION_POLICY_DELAY("constantSpeculativeExecutionPolicyDelay"),
+        MAX_SPECULATIVE_EXECUTIONS("maxSpeculativeExecutions"),
+        HIGHEST_TRACKABLE_LATENCY_MILLIS("highestTrackableLatencyMillis"),
+        RESULT_CACHE_MAX_ENTRIES("resultCacheMaxEntries"), RESULT_CACHE_MAX_BYTES("resultCacheMaxBytes"),
+        RESULT_CACHE_TTL_MILLIS("resultCacheTtlMillis"),
+
+        // float params
+        PERCENTILE_SPECULATIVE_EXECUTION_POLICY_PERCENTILE("percentileSpeculativeExecutionPolicyPercentile"),
 
         // ref params
         QUERY_OPTIONS("queryOptionsConfig"), POOLING_OPTIONS("poolingOptionsConfig"), SOCKET_OPTIONS(
@@ -792,6 +1229,41 @@ public class CassandraDataSource implements BValue {
 
     }
 
+    private enum SpeculativeExecutionPolicy {
+        NO_SPECULATIVE_EXECUTION_POLICY("NoSpeculativeExecutionPolicy"), CONSTANT_SPECULATIVE_EXECUTION_POLICY(
+                "ConstantSpeculativeExecutionPolicy"), PERCENTILE_SPECULATIVE_EXECUTION_POLICY(
+                "PercentileSpeculativeExecutionPolicy");
+
+        private String speculativeExecutionPolicy;
+
+        private static final Map<String, SpeculativeExecutionPolicy> policyMap = new HashMap<>();
+
+        SpeculativeExecutionPolicy(String speculativeExecutionPolicy) {
+            this.speculativeExecutionPolicy = speculativeExecutionPolicy;
+        }
+
+        static {
+            SpeculativeExecutionPolicy[] policies = values();
+            for (SpeculativeExecutionPolicy policy : policies) {
+                policyMap.put(policy.getPolicyName(), policy);
+            }
+        }
+
+        public static SpeculativeExecutionPolicy fromPolicyName(String policyName) {
+            SpeculativeExecutionPolicy policy = policyMap.get(policyName);
+            if (policy == null) {
+                throw new IllegalArgumentException("Unsupported Speculative Execution policy: " + policyName);
+            } else {
+                return policy;
+            }
+        }
+
+        private String getPolicyName() {
+            return this.speculativeExecutionPolicy;
+        }
+
+    }
+
     private enum RetryPolicy {
         DEFAULT_RETRY_POLICY("DefaultRetryPolicy"), DOWNGRADING_CONSISTENCY_RETRY_POLICY(
                 "DowngradingConsistencyRetryPolicy"), FALLTHROUGH_RETRY_POLICY(
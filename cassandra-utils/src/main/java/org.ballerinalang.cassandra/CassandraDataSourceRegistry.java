@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Registry of the data sources shared by clients with identical configurations. Each data source owns a cluster,
+ * with its own event loops, connection pools and metadata, so clients connecting to the same cluster with the same
+ * options reuse a single data source instead. Clients which only differ by their keyspace share the cluster, each
+ * keyspace having its own session, which is closed once the last client of the keyspace releases it. Data sources
+ * are reference counted and must only be closed once the last client using them releases them.
+ *
+ * @since 0.99.0
+ */
+public class CassandraDataSourceRegistry {
+
+    private static final Map<List<Object>, SharedDataSource> DATA_SOURCES = new HashMap<>();
+
+    private static final Map<CassandraDataSource, SharedDataSource> SHARED_DATA_SOURCES = new IdentityHashMap<>();
+
+    private CassandraDataSourceRegistry() {
+    }
+
+    /**
+     * Returns the data source registered for the given configuration, initializing and registering a new one if
+     * there is none. The registry is only locked to look up and count the references of the data sources, a new
+     * data source is initialized under a lock of its own, so that clients of other configurations are not held up
+     * while it connects to the cluster.
+     *
+     * @param host     Host(s) Cassandra instance(s) reside(s)
+     * @param port     Port for the Cassandra instance(s)
+     * @param username Username if authentication is enabled
+     * @param password Password if authentication is enabled
+     * @param keyspace Keyspace the statements are executed in, or an empty string for none
+     * @param options  BStruct containing available options for cluster connection initialization
+     * @return Data source for the configuration
+     */
+    public static CassandraDataSource acquire(String host, int port, String username, String password,
+                                              String keyspace, MapValue options) {
+        List<Object> key = Arrays.asList(host, port, username, password, toKey(options));
+        SharedDataSource sharedDataSource;
+        synchronized (DATA_SOURCES) {
+            sharedDataSource = DATA_SOURCES.computeIfAbsent(key, SharedDataSource::new);
+            // Counted before the data source is initialized, so that it is not closed by a concurrent release
+            sharedDataSource.references++;
+        }
+        CassandraDataSource keyspaceDataSource;
+        try {
+            keyspaceDataSource = sharedDataSource.getDataSource(host, port, username, password, options)
+                    .forKeyspace(keyspace);
+        } catch (RuntimeException e) {
+            if (releaseReference(sharedDataSource)) {
+                sharedDataSource.close();
+            }
+            throw e;
+        }
+        synchronized (DATA_SOURCES) {
+            SHARED_DATA_SOURCES.put(keyspaceDataSource, sharedDataSource);
+        }
+        return keyspaceDataSource;
+    }
+
+    /**
+     * Releases a reference to the given data source.
+     *
+     * @param dataSource Data source to be released
+     * @return {@code true} if the data source is no longer referenced and should be closed, which is also the case
+     * for data sources which are not registered
+     */
+    public static boolean release(CassandraDataSource dataSource) {
+        SharedDataSource sharedDataSource;
+        synchronized (DATA_SOURCES) {
+            sharedDataSource = SHARED_DATA_SOURCES.get(dataSource);
+        }
+        if (sharedDataSource == null) {
+            return true;
+        }
+        if (sharedDataSource.dataSource.releaseKeyspace(dataSource)) {
+            synchronized (DATA_SOURCES) {
+                SHARED_DATA_SOURCES.remove(dataSource);
+            }
+        }
+        return releaseReference(sharedDataSource);
+    }
+
+    /**
+     * Releases a reference to the given shared data source, unregistering it once it is no longer referenced.
+     */
+    private static boolean releaseReference(SharedDataSource sharedDataSource) {
+        synchronized (DATA_SOURCES) {
+            if (--sharedDataSource.references > 0) {
+                return false;
+            }
+            DATA_SOURCES.remove(sharedDataSource.key);
+            SHARED_DATA_SOURCES.values().removeIf(shared -> shared == sharedDataSource);
+            return true;
+        }
+    }
+
+    /**
+     * Converts the options to plain Java values, which are compared by value, with the fields of records ordered by
+     * name.
+     */
+    private static Object toKey(Object value) {
+        if (value instanceof MapValue) {
+            Map<String, Object> fields = new TreeMap<>();
+            for (Map.Entry<?, ?> field : ((MapValue<?, ?>) value).entrySet()) {
+                fields.put(field.getKey().toString(), toKey(field.getValue()));
+            }
+            return fields;
+        }
+        if (value instanceof ArrayValue) {
+            ArrayValue array = (ArrayValue) value;
+            List<Object> elements = new ArrayList<>(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                elements.add(toKey(array.get(i)));
+            }
+            return elements;
+        }
+        if (value instanceof BString) {
+            return ((BString) value).getValue();
+        }
+        return value;
+    }
+
+    /**
+     * Data source of a configuration, which is initialized by the first client acquiring it. Clients of the same
+     * configuration acquiring it meanwhile wait for the initialization, and retry it if it fails.
+     */
+    private static final class SharedDataSource {
+
+        private final List<Object> key;
+
+        private CassandraDataSource dataSource;
+
+        private int references;
+
+        private SharedDataSource(List<Object> key) {
+            this.key = key;
+        }
+
+        private synchronized CassandraDataSource getDataSource(String host, int port, String username,
+                                                               String password, MapValue options) {
+            if (dataSource == null) {
+                CassandraDataSource newDataSource = new CassandraDataSource();
+                newDataSource.initCluster(host, port, username, password, options);
+                dataSource = newDataSource;
+            }
+            return dataSource;
+        }
+
+        private synchronized void close() {
+            if (dataSource != null) {
+                dataSource.close();
+            }
+        }
+    }
+}
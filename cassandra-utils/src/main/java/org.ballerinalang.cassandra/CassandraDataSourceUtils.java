@@ -18,6 +18,8 @@
 
 package org.ballerinalang.cassandra;
 
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.exceptions.DriverInternalError;
 import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.types.TypeTags;
 import org.ballerinalang.util.exceptions.BallerinaException;
@@ -42,4 +44,25 @@ public class CassandraDataSourceUtils {
             throw new BallerinaException("unsupported data type for record field: " + value.getName());
         }
     }
+
+    public static ConsistencyLevel retrieveConsistencyLevel(String consistencyLevel) {
+        try {
+            return ConsistencyLevel.valueOf(consistencyLevel);
+        } catch (IllegalArgumentException | DriverInternalError e) {
+            throw new BallerinaException("\"" + consistencyLevel + "\" is not a valid consistency level");
+        }
+    }
+
+    public static ConsistencyLevel retrieveSerialConsistencyLevel(String consistencyLevel) {
+        ConsistencyLevel serialConsistencyLevel;
+        try {
+            serialConsistencyLevel = ConsistencyLevel.valueOf(consistencyLevel);
+        } catch (IllegalArgumentException | DriverInternalError e) {
+            throw new BallerinaException("\"" + consistencyLevel + "\" is not a valid serial consistency level");
+        }
+        if (!serialConsistencyLevel.isSerial()) {
+            throw new BallerinaException("\"" + consistencyLevel + "\" is not a valid serial consistency level");
+        }
+        return serialConsistencyLevel;
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import com.datastax.driver.core.Row;
+
+/**
+ * Reads the value of a column of a row as the Ballerina value it is mapped to.
+ *
+ * @since 0.99.0
+ */
+@FunctionalInterface
+public interface ColumnDecoder {
+
+    /**
+     * Decodes the value of the column at the given index.
+     *
+     * @param row   Row to read the value from
+     * @param index Zero based index of the column
+     * @return Value of the column
+     */
+    Object decode(Row row, int index);
+}
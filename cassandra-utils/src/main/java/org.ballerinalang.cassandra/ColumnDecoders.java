@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.LocalDate;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.Row;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.api.BValueCreator;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+/**
+ * Provides the {@link ColumnDecoder}s used to read column values. The decoder of a column is selected from its CQL
+ * data type, so each value is read with the native getter of that type.
+ *
+ * @since 0.99.0
+ */
+public final class ColumnDecoders {
+
+    private static final ColumnDecoder STRING = Row::getString;
+
+    private static final ColumnDecoder INT = (row, index) -> (long) row.getInt(index);
+
+    private static final ColumnDecoder BIGINT = Row::getLong;
+
+    private static final ColumnDecoder SMALLINT = (row, index) -> (long) row.getShort(index);
+
+    private static final ColumnDecoder TINYINT = (row, index) -> (long) row.getByte(index);
+
+    private static final ColumnDecoder FLOAT = (row, index) -> (double) row.getFloat(index);
+
+    private static final ColumnDecoder DOUBLE = Row::getDouble;
+
+    private static final ColumnDecoder DECIMAL = (row, index) -> {
+        BigDecimal value = row.getDecimal(index);
+        return value != null ? new DecimalValue(value) : null;
+    };
+
+    private static final ColumnDecoder BOOLEAN = Row::getBool;
+
+    private static final ColumnDecoder TIMESTAMP = (row, index) -> {
+        Date value = row.getTimestamp(index);
+        return value != null ? value.getTime() : null;
+    };
+
+    private static final ColumnDecoder DATE = (row, index) -> {
+        LocalDate value = row.getDate(index);
+        return value != null ? (long) value.getDaysSinceEpoch() : null;
+    };
+
+    private static final ColumnDecoder TIME = Row::getTime;
+
+    private static final ColumnDecoder UUID = (row, index) -> {
+        java.util.UUID value = row.getUUID(index);
+        return value != null ? value.toString() : null;
+    };
+
+    private static final ColumnDecoder INET = (row, index) -> {
+        InetAddress value = row.getInet(index);
+        return value != null ? value.getHostAddress() : null;
+    };
+
+    private static final ColumnDecoder BLOB = (row, index) -> {
+        byte[] value = getBytes(row, index);
+        return value != null ? BValueCreator.createArrayValue(value) : null;
+    };
+
+    private static final ColumnDecoder OTHER = (row, index) -> {
+        Object value = row.getObject(index);
+        return value != null ? value.toString() : null;
+    };
+
+    /**
+     * Returns the decoder for a column of the given CQL data type, mapped to a record field of the given type. Values
+     * of collection, user defined and tuple columns are decoded into Ballerina arrays, maps, records and tuples
+     * shaped after the field type. Decimal columns mapped to float fields are decoded as floats, other columns are
+     * decoded as by {@link #forType(DataType, String)}.
+     *
+     * @param type            CQL data type of the column
+     * @param fieldType       Type of the record field the column is mapped to, or {@code null} if it is not mapped
+     * @param protocolVersion Protocol version the column was serialized with
+     * @param columnName      Name of the column
+     * @return Decoder for the column
+     */
+    public static ColumnDecoder forType(DataType type, BType fieldType, ProtocolVersion protocolVersion,
+                                        String columnName) {
+        if (ComplexTypeDecoders.isComplexType(type)) {
+            return ComplexTypeDecoders.forType(type, fieldType, protocolVersion, columnName);
+        }
+        if (type.getName() == DataType.Name.DECIMAL && fieldType != null && isFloatType(fieldType)) {
+            return decimalAsFloat(columnName);
+        }
+        return forType(type, columnName);
+    }
+
+    /**
+     * Returns the decoder for a column of the given CQL data type.
+     *
+     * @param type       CQL data type of the column
+     * @param columnName Name of the column
+     * @return Decoder for the column
+     */
+    public static ColumnDecoder forType(DataType type, String columnName) {
+        switch (type.getName()) {
+            case ASCII:
+            case TEXT:
+            case VARCHAR:
+                return STRING;
+            case INT:
+                return INT;
+            case BIGINT:
+            case COUNTER:
+                return BIGINT;
+            case SMALLINT:
+                return SMALLINT;
+            case TINYINT:
+                return TINYINT;
+            case VARINT:
+                return varint(columnName);
+            case FLOAT:
+                return FLOAT;
+            case DOUBLE:
+                return DOUBLE;
+            case DECIMAL:
+                return DECIMAL;
+            case BOOLEAN:
+                return BOOLEAN;
+            case TIMESTAMP:
+                return TIMESTAMP;
+            case DATE:
+                return DATE;
+            case TIME:
+                return TIME;
+            case UUID:
+            case TIMEUUID:
+                return UUID;
+            case INET:
+                return INET;
+            case BLOB:
+                return BLOB;
+            default:
+                return OTHER;
+        }
+    }
+
+    /**
+     * Values of a varint column are decoded as ints, failing for values which do not fit into 64 bits instead of
+     * truncating them.
+     */
+    private static ColumnDecoder varint(String columnName) {
+        return (row, index) -> {
+            BigInteger value = row.getVarint(index);
+            try {
+                return value != null ? CqlValueConverter.toInt(value) : null;
+            } catch (BallerinaException e) {
+                throw new BallerinaException("column \"" + columnName + "\": " + e.getMessage(), e);
+            }
+        };
+    }
+
+    /**
+     * Values of a decimal column mapped to a float field are rounded to the nearest float, failing for values beyond
+     * the range of floats.
+     */
+    private static ColumnDecoder decimalAsFloat(String columnName) {
+        return (row, index) -> {
+            BigDecimal value = row.getDecimal(index);
+            try {
+                return value != null ? CqlValueConverter.toDouble(value) : null;
+            } catch (BallerinaException e) {
+                throw new BallerinaException("column \"" + columnName + "\": " + e.getMessage(), e);
+            }
+        };
+    }
+
+    private static boolean isFloatType(BType type) {
+        if (type.getTag() == TypeTags.UNION_TAG) {
+            for (BType member : ((BUnionType) type).getMemberTypes()) {
+                if (member.getTag() == TypeTags.FLOAT_TAG) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return type.getTag() == TypeTags.FLOAT_TAG;
+    }
+
+    /**
+     * Copies the content of a blob column into a byte array. Only the readable bytes of the buffer returned by the
+     * driver are copied, the buffer itself is left untouched.
+     *
+     * @param row   Row to read the value from
+     * @param index Zero based index of the column
+     * @return Content of the column or {@code null} if the column is null
+     */
+    public static byte[] getBytes(Row row, int index) {
+        ByteBuffer buffer = row.getBytesUnsafe(index);
+        if (buffer == null) {
+            return null;
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private ColumnDecoders() {
+    }
+}
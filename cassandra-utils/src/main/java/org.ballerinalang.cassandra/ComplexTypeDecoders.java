@@ -0,0 +1,458 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TupleType;
+import com.datastax.driver.core.TypeCodec;
+import com.datastax.driver.core.UserType;
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BTupleType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.api.BArray;
+import org.ballerinalang.jvm.values.api.BMap;
+import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.jvm.values.api.BValueCreator;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provides the {@link ColumnDecoder}s of list, set, map, user defined type and tuple columns. The serialized value of
+ * a column is read directly into a Ballerina array, map, record or tuple in a single pass, decoding each element with
+ * the codec of its CQL type. The Ballerina value is shaped after the type of the record field the column is mapped
+ * to, and after the CQL type of the column if the field type does not constrain it, for example {@code anydata}.
+ *
+ * @since 0.99.0
+ */
+final class ComplexTypeDecoders {
+
+    /**
+     * Decodes a serialized value into a Ballerina value.
+     */
+    @FunctionalInterface
+    private interface ValueDecoder {
+
+        /**
+         * Decodes the given value, which is {@code null} for null values.
+         *
+         * @param bytes Serialized value, positioned at its first byte and limited to its last byte
+         * @return Ballerina value
+         */
+        Object decode(ByteBuffer bytes);
+    }
+
+    /**
+     * Returns whether values of the given CQL type are decoded by the decoders of this class.
+     *
+     * @param type CQL data type
+     * @return {@code true} for collection, user defined and tuple types
+     */
+    static boolean isComplexType(DataType type) {
+        switch (type.getName()) {
+            case LIST:
+            case SET:
+            case MAP:
+            case UDT:
+            case TUPLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the decoder for a column of the given collection, user defined or tuple type. Null collections are
+     * decoded as empty arrays or maps if the field type does not allow nil, as Cassandra does not distinguish empty
+     * collections from null ones.
+     *
+     * @param type            CQL data type of the column
+     * @param fieldType       Type of the record field the column is mapped to, or {@code null} if it is not mapped
+     * @param protocolVersion Protocol version the column was serialized with
+     * @param columnName      Name of the column
+     * @return Decoder for the column
+     */
+    static ColumnDecoder forType(DataType type, BType fieldType, ProtocolVersion protocolVersion, String columnName) {
+        BType targetType = resolveTargetType(type, fieldType, columnName);
+        ValueDecoder decoder = createDecoder(type, targetType, protocolVersion, columnName);
+        if (fieldType == null || fieldType.isNilable() || !type.isCollection()) {
+            return (row, index) -> decoder.decode(row.getBytesUnsafe(index));
+        }
+        return (row, index) -> {
+            ByteBuffer bytes = row.getBytesUnsafe(index);
+            if (bytes == null) {
+                return createEmptyCollection(targetType);
+            }
+            return decoder.decode(bytes);
+        };
+    }
+
+    private static Object createEmptyCollection(BType collectionType) {
+        return collectionType.getTag() == TypeTags.MAP_TAG ? BValueCreator.createMapValue(collectionType)
+                : BValueCreator.createArrayValue((BArrayType) collectionType);
+    }
+
+    private static ValueDecoder createDecoder(DataType type, BType targetType, ProtocolVersion protocolVersion,
+                                              String columnName) {
+        switch (type.getName()) {
+            case LIST:
+            case SET:
+                return createArrayDecoder(type.getTypeArguments().get(0), (BArrayType) targetType, protocolVersion,
+                        columnName);
+            case MAP:
+                return createMapDecoder(type.getTypeArguments().get(0), type.getTypeArguments().get(1),
+                        (BMapType) targetType, protocolVersion, columnName);
+            case UDT:
+                return createUserTypeDecoder((UserType) type, targetType, protocolVersion, columnName);
+            case TUPLE:
+                return createTupleDecoder((TupleType) type, targetType, protocolVersion, columnName);
+            default:
+                return createElementDecoder(type, targetType, protocolVersion);
+        }
+    }
+
+    private static ValueDecoder createArrayDecoder(DataType elementType, BArrayType arrayType,
+                                                   ProtocolVersion protocolVersion, String columnName) {
+        BType elementTargetType = arrayType.getElementType();
+        ValueDecoder elementDecoder = createDecoder(elementType,
+                resolveTargetType(elementType, elementTargetType, columnName), protocolVersion, columnName);
+        return bytes -> {
+            if (bytes == null) {
+                return null;
+            }
+            ByteBuffer input = bytes.duplicate();
+            int size = readSize(input, protocolVersion);
+            BArray array = BValueCreator.createArrayValue(arrayType);
+            for (int i = 0; i < size; i++) {
+                addElement(array, i, elementTargetType, elementDecoder.decode(readValue(input, protocolVersion)));
+            }
+            return array;
+        };
+    }
+
+    private static ValueDecoder createMapDecoder(DataType keyType, DataType valueType, BMapType mapType,
+                                                 ProtocolVersion protocolVersion, String columnName) {
+        ValueDecoder keyDecoder = createElementDecoder(keyType, null, protocolVersion);
+        ValueDecoder valueDecoder = createDecoder(valueType,
+                resolveTargetType(valueType, mapType.getConstrainedType(), columnName), protocolVersion, columnName);
+        return bytes -> {
+            if (bytes == null) {
+                return null;
+            }
+            ByteBuffer input = bytes.duplicate();
+            int size = readSize(input, protocolVersion);
+            BMap<BString, Object> map = BValueCreator.createMapValue(mapType);
+            for (int i = 0; i < size; i++) {
+                // Keys of Ballerina maps are strings, so keys of other types are converted to their string form
+                Object key = keyDecoder.decode(readValue(input, protocolVersion));
+                map.put(key instanceof BString ? (BString) key : StringUtils.fromString(String.valueOf(key)),
+                        valueDecoder.decode(readValue(input, protocolVersion)));
+            }
+            return map;
+        };
+    }
+
+    /**
+     * Fields of a user defined type are serialized in the order of the type definition, with the length of each
+     * field as a 4 byte integer. Fields which were added to the type after the value was written are missing.
+     * <p>
+     * Null and missing fields are set to nil if the field type allows it. Otherwise collections are set to empty
+     * collections, as for columns, and other fields are left to the default of the record field, or left out of a
+     * map. A null field mapped to a required record field which does not allow nil fails the row.
+     */
+    private static ValueDecoder createUserTypeDecoder(UserType userType, BType targetType,
+                                                      ProtocolVersion protocolVersion, String columnName) {
+        int fieldCount = userType.size();
+        String[] fieldNames = new String[fieldCount];
+        ValueDecoder[] fieldDecoders = new ValueDecoder[fieldCount];
+        boolean[] nilable = new boolean[fieldCount];
+        boolean[] required = new boolean[fieldCount];
+        BType[] collectionTypes = new BType[fieldCount];
+        int i = 0;
+        for (UserType.Field field : userType) {
+            BType fieldTargetType;
+            if (targetType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+                BField recordField = ((BRecordType) targetType).getFields().get(field.getName());
+                if (recordField == null) {
+                    // Fields of the type which are not fields of the record are skipped, like unmapped columns
+                    i++;
+                    continue;
+                }
+                fieldTargetType = recordField.getFieldType();
+                required[i] = Flags.isFlagOn(recordField.getFlags(), Flags.REQUIRED);
+            } else {
+                fieldTargetType = ((BMapType) targetType).getConstrainedType();
+            }
+            BType resolvedType = resolveTargetType(field.getType(), fieldTargetType, columnName);
+            fieldNames[i] = field.getName();
+            fieldDecoders[i] = createDecoder(field.getType(), resolvedType, protocolVersion, columnName);
+            nilable[i] = fieldTargetType.isNilable();
+            if (field.getType().isCollection()) {
+                collectionTypes[i] = resolvedType;
+            }
+            i++;
+        }
+        return bytes -> {
+            if (bytes == null) {
+                return null;
+            }
+            ByteBuffer input = bytes.duplicate();
+            // Fields are kept in the order of the type definition
+            Map<String, Object> fields = new LinkedHashMap<>();
+            for (int j = 0; j < fieldCount; j++) {
+                ByteBuffer value = input.hasRemaining() ? readValue(input, ProtocolVersion.V3) : null;
+                if (fieldNames[j] == null) {
+                    continue;
+                }
+                Object fieldValue = fieldDecoders[j].decode(value);
+                if (fieldValue == null && !nilable[j]) {
+                    if (collectionTypes[j] != null) {
+                        fieldValue = createEmptyCollection(collectionTypes[j]);
+                    } else if (required[j]) {
+                        throw new BallerinaException("column \"" + columnName + "\": field \"" + fieldNames[j]
+                                + "\" of the user defined type is null, but is mapped to a field which does not "
+                                + "allow nil");
+                    } else {
+                        continue;
+                    }
+                }
+                fields.put(fieldNames[j], fieldValue);
+            }
+            // The record is created from its type rather than its name, so that anonymous records are supported
+            BMap<BString, Object> value = targetType.getTag() == TypeTags.RECORD_TYPE_TAG
+                    ? BValueCreator.createRecordValue((BRecordType) targetType)
+                    : BValueCreator.createMapValue(targetType);
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                value.put(StringUtils.fromString(field.getKey()), field.getValue());
+            }
+            return value;
+        };
+    }
+
+    /**
+     * Components of a tuple are serialized like the fields of a user defined type.
+     */
+    private static ValueDecoder createTupleDecoder(TupleType tupleType, BType targetType,
+                                                   ProtocolVersion protocolVersion, String columnName) {
+        List<DataType> componentTypes = tupleType.getComponentTypes();
+        int componentCount = componentTypes.size();
+        BType[] componentTargetTypes = new BType[componentCount];
+        ValueDecoder[] componentDecoders = new ValueDecoder[componentCount];
+        for (int i = 0; i < componentCount; i++) {
+            BType componentTargetType = targetType.getTag() == TypeTags.TUPLE_TAG
+                    ? ((BTupleType) targetType).getTupleTypes().get(i) : ((BArrayType) targetType).getElementType();
+            componentTargetTypes[i] = componentTargetType;
+            componentDecoders[i] = createDecoder(componentTypes.get(i),
+                    resolveTargetType(componentTypes.get(i), componentTargetType, columnName), protocolVersion,
+                    columnName);
+        }
+        return bytes -> {
+            if (bytes == null) {
+                return null;
+            }
+            ByteBuffer input = bytes.duplicate();
+            BArray tuple = targetType.getTag() == TypeTags.TUPLE_TAG
+                    ? BValueCreator.createTupleValue((BTupleType) targetType)
+                    : BValueCreator.createArrayValue((BArrayType) targetType);
+            for (int i = 0; i < componentCount; i++) {
+                ByteBuffer value = input.hasRemaining() ? readValue(input, ProtocolVersion.V3) : null;
+                addElement(tuple, i, componentTargetTypes[i], componentDecoders[i].decode(value));
+            }
+            return tuple;
+        };
+    }
+
+    /**
+     * Returns the decoder of an element of a primitive CQL type, which decodes the element with the codec of its
+     * type and converts it to the Ballerina value columns of the type are mapped to. Decimals assigned to floats are
+     * rounded to the nearest float.
+     */
+    private static ValueDecoder createElementDecoder(DataType type, BType targetType,
+                                                     ProtocolVersion protocolVersion) {
+        TypeCodec<Object> codec = CodecRegistry.DEFAULT_INSTANCE.codecFor(type);
+        if (type.getName() == DataType.Name.DECIMAL && targetType != null
+                && targetType.getTag() == TypeTags.FLOAT_TAG) {
+            return bytes -> bytes != null ? CqlValueConverter.toDouble((BigDecimal) codec.deserialize(bytes,
+                    protocolVersion)) : null;
+        }
+        return bytes -> bytes != null ? CqlValueConverter.toBallerinaValue(codec.deserialize(bytes, protocolVersion))
+                : null;
+    }
+
+    /**
+     * Resolves the Ballerina type a value of the given CQL type is decoded into from the type it is assigned to.
+     * Optional types are resolved to their non-nil member, and types which do not constrain the value, such as
+     * {@code anydata}, to the type values of the CQL type are mapped to by default.
+     */
+    private static BType resolveTargetType(DataType type, BType targetType, String columnName) {
+        if (targetType != null && targetType.getTag() == TypeTags.UNION_TAG) {
+            BType memberType = null;
+            for (BType member : ((BUnionType) targetType).getMemberTypes()) {
+                if (member.getTag() != TypeTags.NULL_TAG) {
+                    if (memberType != null) {
+                        // A union of several types does not constrain the value
+                        memberType = null;
+                        break;
+                    }
+                    memberType = member;
+                }
+            }
+            targetType = memberType;
+        }
+        if (targetType == null || targetType.getTag() == TypeTags.ANYDATA_TAG
+                || targetType.getTag() == TypeTags.ANY_TAG || targetType.getTag() == TypeTags.JSON_TAG) {
+            return getDefaultType(type);
+        }
+        int tag = targetType.getTag();
+        boolean compatible;
+        switch (type.getName()) {
+            case LIST:
+            case SET:
+                compatible = tag == TypeTags.ARRAY_TAG;
+                break;
+            case MAP:
+                compatible = tag == TypeTags.MAP_TAG;
+                break;
+            case UDT:
+                compatible = tag == TypeTags.RECORD_TYPE_TAG || tag == TypeTags.MAP_TAG;
+                break;
+            case TUPLE:
+                compatible = (tag == TypeTags.TUPLE_TAG
+                        && ((BTupleType) targetType).getTupleTypes().size() == type.getTypeArguments().size())
+                        || tag == TypeTags.ARRAY_TAG;
+                break;
+            case DECIMAL:
+                compatible = tag == TypeTags.DECIMAL_TAG || tag == TypeTags.FLOAT_TAG;
+                break;
+            default:
+                compatible = tag == getDefaultType(type).getTag();
+                break;
+        }
+        if (!compatible) {
+            throw new BallerinaException("column \"" + columnName + "\" of type " + type
+                    + " cannot be mapped to a field of type " + targetType);
+        }
+        return targetType;
+    }
+
+    private static BType getDefaultType(DataType type) {
+        switch (type.getName()) {
+            case INT:
+            case SMALLINT:
+            case TINYINT:
+            case BIGINT:
+            case COUNTER:
+            case VARINT:
+            case TIME:
+            case TIMESTAMP:
+            case DATE:
+                return BTypes.typeInt;
+            case FLOAT:
+            case DOUBLE:
+                return BTypes.typeFloat;
+            case DECIMAL:
+                return BTypes.typeDecimal;
+            case BOOLEAN:
+                return BTypes.typeBoolean;
+            case BLOB:
+                return new BArrayType(BTypes.typeByte);
+            case LIST:
+            case SET:
+                return new BArrayType(getDefaultType(type.getTypeArguments().get(0)));
+            case MAP:
+                return new BMapType(getDefaultType(type.getTypeArguments().get(1)));
+            case UDT:
+                return new BMapType(BTypes.typeAnydata);
+            case TUPLE:
+                List<BType> componentTypes = new ArrayList<>();
+                for (DataType componentType : ((TupleType) type).getComponentTypes()) {
+                    componentTypes.add(getDefaultType(componentType));
+                }
+                return new BTupleType(componentTypes);
+            default:
+                return BTypes.typeString;
+        }
+    }
+
+    /**
+     * Adds the element to the array, using the typed setter of arrays of simple values.
+     */
+    private static void addElement(BArray array, long index, BType elementType, Object value) {
+        if (value == null) {
+            array.add(index, (Object) null);
+            return;
+        }
+        switch (elementType.getTag()) {
+            case TypeTags.INT_TAG:
+                array.add(index, (long) (Long) value);
+                break;
+            case TypeTags.FLOAT_TAG:
+                array.add(index, (double) (Double) value);
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                array.add(index, (boolean) (Boolean) value);
+                break;
+            case TypeTags.STRING_TAG:
+                array.add(index, (BString) value);
+                break;
+            default:
+                array.add(index, value);
+        }
+    }
+
+    /**
+     * Reads the number of elements of a collection, which is a 2 byte unsigned integer before protocol V3 and a 4
+     * byte integer since.
+     */
+    private static int readSize(ByteBuffer input, ProtocolVersion protocolVersion) {
+        return protocolVersion.compareTo(ProtocolVersion.V3) < 0 ? input.getShort() & 0xFFFF : input.getInt();
+    }
+
+    /**
+     * Reads the next length prefixed element of a serialized collection, user defined type or tuple. The returned
+     * buffer shares the content of the input and is {@code null} for null elements.
+     */
+    private static ByteBuffer readValue(ByteBuffer input, ProtocolVersion protocolVersion) {
+        int length = readSize(input, protocolVersion);
+        if (length < 0) {
+            return null;
+        }
+        ByteBuffer value = input.slice();
+        value.limit(length);
+        input.position(input.position() + length);
+        return value;
+    }
+
+    private ComplexTypeDecoders() {
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings collected by the connector itself, complementing the request metrics of the driver with the time spent
+ * preparing statements, binding parameters and mapping rows to records.
+ *
+ * @since 0.99.0
+ */
+public class ConnectorMetrics {
+
+    private final MetricRegistry registry = new MetricRegistry();
+
+    private final Timer prepareTimer = registry.timer("prepare");
+
+    private final Timer bindTimer = registry.timer("bind");
+
+    private final Timer executeTimer = registry.timer("execute");
+
+    private final Timer rowMappingTimer = registry.timer("row-mapping");
+
+    private final Meter rows = registry.meter("rows");
+
+    public MetricRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Time taken to obtain a prepared statement, either from the prepared statement cache or from the cluster.
+     *
+     * @return Prepare timer
+     */
+    public Timer getPrepareTimer() {
+        return prepareTimer;
+    }
+
+    /**
+     * Time taken to bind the parameters of a statement.
+     *
+     * @return Bind timer
+     */
+    public Timer getBindTimer() {
+        return bindTimer;
+    }
+
+    /**
+     * Time taken until the first page of the result of a statement is received.
+     *
+     * @return Execute timer
+     */
+    public Timer getExecuteTimer() {
+        return executeTimer;
+    }
+
+    /**
+     * Time taken to map a row to a record.
+     *
+     * @return Row mapping timer
+     */
+    public Timer getRowMappingTimer() {
+        return rowMappingTimer;
+    }
+
+    /**
+     * Rows returned to Ballerina.
+     *
+     * @return Rows meter
+     */
+    public Meter getRows() {
+        return rows;
+    }
+
+    public void recordPrepare(long nanos) {
+        prepareTimer.update(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBind(long nanos) {
+        bindTimer.update(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordExecute(long nanos) {
+        executeTimer.update(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRowMapping(long nanos) {
+        rowMappingTimer.update(nanos, TimeUnit.NANOSECONDS);
+        rows.mark();
+    }
+}
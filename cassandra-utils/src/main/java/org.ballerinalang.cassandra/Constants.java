@@ -28,10 +28,17 @@ import org.ballerinalang.jvm.values.api.BString;
 public final class Constants {
     public static final String QUESTION_MARK = "?";
     public static final String CLIENT = "Client";
+    public static final String RESULT_ITERATOR = "ResultIterator";
     public static final String CASSANDRA_PARAMETER = "Parameter";
+    public static final String BULK_LOAD_RESULT = "BulkLoadResult";
+    public static final String PAGE = "Page";
+    public static final String METRICS = "Metrics";
+    public static final String TIMER_METRICS = "TimerMetrics";
+    public static final String ERROR_METRICS = "ErrorMetrics";
     public static final String CQL_TYPE_FIELD = "cqlType";
     public static final String VALUE_FIELD = "value";
     public static final String DATABASE_ERROR_CODE = "{ballerina/cassandra}DatabaseError";
+    public static final String REQUEST_REJECTED_ERROR_CODE = "{ballerina/cassandra}RequestRejectedError";
 
     /**
      * Constants for DataTypes.
@@ -45,6 +52,93 @@ public final class Constants {
         public static final String DOUBLE = "DOUBLE";
         public static final String TEXT = "TEXT";
         public static final String BOOLEAN = "BOOLEAN";
+        public static final String BLOB = "BLOB";
+    }
+
+    /**
+     * Constants for fields of a parameter.
+     */
+    public static final class ParameterField {
+        public static final BString CQL_TYPE = StringUtils.fromString(CQL_TYPE_FIELD);
+        public static final BString VALUE = StringUtils.fromString(VALUE_FIELD);
+    }
+
+    /**
+     * Constants for fields of a statement in a batch.
+     */
+    public static final class BatchStatementField {
+        public static final BString QUERY_STRING = StringUtils.fromString("queryString");
+        public static final BString PARAMETERS = StringUtils.fromString("parameters");
+    }
+
+    /**
+     * Constants for fields of the statement options.
+     */
+    public static final class StatementOptionsField {
+        public static final BString CONSISTENCY_LEVEL = StringUtils.fromString("consistencyLevel");
+        public static final BString SERIAL_CONSISTENCY_LEVEL = StringUtils.fromString("serialConsistencyLevel");
+        public static final BString FETCH_SIZE = StringUtils.fromString("fetchSize");
+        public static final BString READ_TIMEOUT_MILLIS = StringUtils.fromString("readTimeoutMillis");
+        public static final BString IDEMPOTENT = StringUtils.fromString("idempotent");
+        public static final BString TRACING = StringUtils.fromString("tracing");
+        public static final BString CACHE_TTL_MILLIS = StringUtils.fromString("cacheTtlMillis");
+    }
+
+    /**
+     * Constants for file formats of a bulk load.
+     */
+    public static final class FileFormats {
+        public static final String CSV = "CSV";
+        public static final String NDJSON = "NDJSON";
+    }
+
+    /**
+     * Constants for fields of the bulk load options.
+     */
+    public static final class BulkLoadOptionsField {
+        public static final BString FORMAT = StringUtils.fromString("format");
+        public static final BString HEADER = StringUtils.fromString("header");
+        public static final BString DELIMITER = StringUtils.fromString("delimiter");
+        public static final BString MAX_IN_FLIGHT = StringUtils.fromString("maxInFlight");
+        public static final BString MAX_RETRIES = StringUtils.fromString("maxRetries");
+    }
+
+    /**
+     * Constants for fields of the table scan options.
+     */
+    public static final class ScanOptionsField {
+        public static final BString COLUMNS = StringUtils.fromString("columns");
+        public static final BString CONCURRENCY = StringUtils.fromString("concurrency");
+        public static final BString SPLITS_PER_TOKEN_RANGE = StringUtils.fromString("splitsPerTokenRange");
+        public static final BString FETCH_SIZE = StringUtils.fromString("fetchSize");
+        public static final BString CONSISTENCY_LEVEL = StringUtils.fromString("consistencyLevel");
+    }
+
+    /**
+     * Constants for fields of the page request.
+     */
+    public static final class PageRequestField {
+        public static final BString PAGE_SIZE = StringUtils.fromString("pageSize");
+        public static final BString PAGING_STATE = StringUtils.fromString("pagingState");
+    }
+
+    /**
+     * Constants for fields of a page of a result.
+     */
+    public static final class PageField {
+        public static final String ROWS = "rows";
+        public static final String PAGING_STATE = "pagingState";
+    }
+
+    /**
+     * Constants for fields of the bulk load result.
+     */
+    public static final class BulkLoadResultField {
+        public static final String ROWS = "rows";
+        public static final String ERRORS = "errors";
+        public static final String RETRIES = "retries";
+        public static final String ELAPSED_MILLIS = "elapsedMillis";
+        public static final String ROWS_PER_SECOND = "rowsPerSecond";
     }
 
     /**
@@ -55,6 +149,17 @@ public final class Constants {
         public static final BString PORT = StringUtils.fromString("port");
         public static final BString USERNAME = StringUtils.fromString("username");
         public static final BString PASSWORD = StringUtils.fromString("password");
+        public static final BString KEYSPACE = StringUtils.fromString("keyspace");
         public static final BString OPTIONS = StringUtils.fromString("options");
+        public static final BString WARM_UP = StringUtils.fromString("warmUp");
+    }
+
+    /**
+     * Constants for fields of the warm-up configuration.
+     */
+    public static final class WarmUpConfigField {
+        public static final BString STATEMENTS = StringUtils.fromString("statements");
+        public static final BString WAIT_FOR_COMPLETION = StringUtils.fromString("waitForCompletion");
+        public static final BString TIMEOUT_MILLIS = StringUtils.fromString("timeoutMillis");
     }
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.LocalDate;
+import com.google.common.net.InetAddresses;
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.api.BArray;
+import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.jvm.values.api.BValueCreator;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Converts values between Ballerina and the Java types the default codecs of the driver use for each CQL type.
+ * Narrowing conversions are checked, so a value which does not fit into the target type fails instead of being
+ * truncated.
+ *
+ * @since 0.99.0
+ */
+public final class CqlValueConverter {
+
+    /**
+     * Converts a Ballerina value to the Java value of the given CQL type. Strings are parsed as by
+     * {@link #fromString(String, DataType)} unless the type is a text type.
+     *
+     * @param value Ballerina int, float, decimal, boolean, string or byte array
+     * @param type  CQL type of the value
+     * @return Java value of the CQL type
+     */
+    public static Object toDriverValue(Object value, DataType type) {
+        DataType.Name name = type.getName();
+        if (value instanceof Long) {
+            long longValue = (Long) value;
+            switch (name) {
+                case INT:
+                    return (int) checkRange(longValue, Integer.MIN_VALUE, Integer.MAX_VALUE, type);
+                case BIGINT:
+                case COUNTER:
+                case TIME:
+                    return longValue;
+                case SMALLINT:
+                    return (short) checkRange(longValue, Short.MIN_VALUE, Short.MAX_VALUE, type);
+                case TINYINT:
+                    return (byte) checkRange(longValue, Byte.MIN_VALUE, Byte.MAX_VALUE, type);
+                case VARINT:
+                    return BigInteger.valueOf(longValue);
+                case FLOAT:
+                    return (float) longValue;
+                case DOUBLE:
+                    return (double) longValue;
+                case DECIMAL:
+                    return BigDecimal.valueOf(longValue);
+                case TIMESTAMP:
+                    return new Date(longValue);
+                default:
+                    break;
+            }
+        } else if (value instanceof Double) {
+            double doubleValue = (Double) value;
+            switch (name) {
+                case FLOAT:
+                    return toFloat(doubleValue, type);
+                case DOUBLE:
+                    return doubleValue;
+                case DECIMAL:
+                    return BigDecimal.valueOf(doubleValue);
+                default:
+                    break;
+            }
+        } else if (value instanceof DecimalValue) {
+            BigDecimal decimalValue = ((DecimalValue) value).value();
+            switch (name) {
+                case FLOAT:
+                    return toFloat(toDouble(decimalValue), type);
+                case DOUBLE:
+                    return toDouble(decimalValue);
+                case DECIMAL:
+                    return decimalValue;
+                default:
+                    break;
+            }
+        } else if (value instanceof Boolean && name == DataType.Name.BOOLEAN) {
+            return value;
+        } else if (value instanceof BString) {
+            return fromString(((BString) value).getValue(), type);
+        } else if (value instanceof BArray && name == DataType.Name.BLOB
+                && ((BArrayType) ((BArray) value).getType()).getElementType().getTag() == TypeTags.BYTE_TAG) {
+            return ByteBuffer.wrap(((BArray) value).getBytes());
+        }
+        throw new BallerinaException("a value of type " + TypeChecker.getType(value)
+                + " cannot be converted to CQL type " + type);
+    }
+
+    /**
+     * Parses the string form of a value of the given CQL type. Timestamps are either milliseconds since the epoch or
+     * ISO-8601 instants, dates ISO-8601 dates and blobs Base64 encoded.
+     *
+     * @param text String form of the value
+     * @param type CQL type of the value
+     * @return Java value of the CQL type
+     */
+    public static Object fromString(String text, DataType type) {
+        switch (type.getName()) {
+            case ASCII:
+            case TEXT:
+            case VARCHAR:
+                return text;
+            case INT:
+                return Integer.parseInt(text.trim());
+            case BIGINT:
+            case COUNTER:
+            case TIME:
+                return Long.parseLong(text.trim());
+            case SMALLINT:
+                return Short.parseShort(text.trim());
+            case TINYINT:
+                return Byte.parseByte(text.trim());
+            case VARINT:
+                return new BigInteger(text.trim());
+            case FLOAT:
+                return toFloat(Double.parseDouble(text.trim()), type);
+            case DOUBLE:
+                return Double.parseDouble(text.trim());
+            case DECIMAL:
+                return new BigDecimal(text.trim());
+            case BOOLEAN:
+                return Boolean.parseBoolean(text.trim());
+            case UUID:
+            case TIMEUUID:
+                return UUID.fromString(text.trim());
+            case TIMESTAMP:
+                return parseTimestamp(text.trim());
+            case DATE:
+                java.time.LocalDate date = java.time.LocalDate.parse(text.trim());
+                return LocalDate.fromYearMonthDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+            case INET:
+                return parseInet(text.trim());
+            case BLOB:
+                return ByteBuffer.wrap(Base64.getDecoder().decode(text.trim()));
+            default:
+                throw new BallerinaException("a string cannot be converted to CQL type " + type);
+        }
+    }
+
+    /**
+     * Converts a Java value decoded by the driver to the Ballerina value columns of its CQL type are mapped to.
+     * Integers are mapped to ints, failing for varints beyond 64 bits, decimals to decimals, timestamps to
+     * milliseconds since the epoch, dates to days since the epoch, blobs to byte arrays and UUIDs, inet addresses
+     * and the remaining types to their string form.
+     *
+     * @param value Java value of a CQL type, or {@code null}
+     * @return Ballerina value
+     */
+    public static Object toBallerinaValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String) {
+            return StringUtils.fromString((String) value);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigInteger) {
+            return toInt((BigInteger) value);
+        }
+        if (value instanceof Float || value instanceof Double) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof BigDecimal) {
+            return new DecimalValue((BigDecimal) value);
+        }
+        if (value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        if (value instanceof LocalDate) {
+            return (long) ((LocalDate) value).getDaysSinceEpoch();
+        }
+        if (value instanceof InetAddress) {
+            return StringUtils.fromString(((InetAddress) value).getHostAddress());
+        }
+        if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer) value;
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return BValueCreator.createArrayValue(bytes);
+        }
+        return StringUtils.fromString(String.valueOf(value));
+    }
+
+    /**
+     * Converts a varint to a Ballerina int.
+     *
+     * @param value Value of a varint
+     * @return Value as an int
+     * @throws BallerinaException if the value does not fit into 64 bits
+     */
+    public static long toInt(BigInteger value) {
+        if (value.bitLength() >= Long.SIZE) {
+            throw new BallerinaException("value " + value + " does not fit into an int");
+        }
+        return value.longValue();
+    }
+
+    /**
+     * Converts a decimal to a Ballerina float, rounding it to the nearest float.
+     *
+     * @param value Value of a decimal
+     * @return Value as a float
+     * @throws BallerinaException if the value is beyond the range of floats
+     */
+    public static double toDouble(BigDecimal value) {
+        double result = value.doubleValue();
+        if (Double.isInfinite(result)) {
+            throw new BallerinaException("value " + value + " does not fit into a float");
+        }
+        return result;
+    }
+
+    private static float toFloat(double value, DataType type) {
+        float result = (float) value;
+        if (Float.isInfinite(result) && !Double.isInfinite(value)) {
+            throw new BallerinaException("value " + value + " is out of the range of CQL type " + type);
+        }
+        return result;
+    }
+
+    private static long checkRange(long value, long min, long max, DataType type) {
+        if (value < min || value > max) {
+            throw new BallerinaException("value " + value + " is out of the range of CQL type " + type);
+        }
+        return value;
+    }
+
+    private static Date parseTimestamp(String text) {
+        if (!text.isEmpty() && text.chars().allMatch(c -> Character.isDigit(c) || c == '-')) {
+            return new Date(Long.parseLong(text));
+        }
+        return Date.from(Instant.parse(text.toUpperCase(Locale.ENGLISH)));
+    }
+
+    /**
+     * Parses an IPv4 or IPv6 address literal. Host names are rejected rather than resolved, so that converting a
+     * value never performs a DNS lookup.
+     */
+    private static InetAddress parseInet(String text) {
+        try {
+            return InetAddresses.forString(text);
+        } catch (IllegalArgumentException e) {
+            throw new BallerinaException("\"" + text + "\" is not a valid inet address");
+        }
+    }
+
+    private CqlValueConverter() {
+    }
+}
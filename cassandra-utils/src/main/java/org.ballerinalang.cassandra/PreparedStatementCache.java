@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.google.common.base.Function;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Size bounded cache of {@link PreparedStatement}s keyed by the processed CQL text and the keyspace of the session
+ * the statement was prepared on. Least recently used statements are evicted once the cache is full.
+ *
+ * @since 0.99.0
+ */
+public class PreparedStatementCache {
+
+    private final Cache<StatementKey, PreparedStatement> statements;
+
+    /**
+     * Creates a prepared statement cache.
+     *
+     * @param maxSize Maximum number of statements kept in the cache, 0 disables caching
+     */
+    public PreparedStatementCache(long maxSize) {
+        this.statements = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+    }
+
+    /**
+     * Returns the cached statement for the given query, preparing it on the session if it is not cached yet.
+     *
+     * @param session Session the statement is prepared on
+     * @param query   Processed CQL query
+     * @return Prepared statement for the query
+     */
+    public PreparedStatement get(Session session, String query) {
+        try {
+            return statements.get(new StatementKey(query, session.getLoggedKeyspace()), () -> session.prepare(query));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the cached statement for the given query, preparing it asynchronously on the session if it is not
+     * cached yet. The prepared statement is added to the cache once the preparation completes.
+     *
+     * @param session Session the statement is prepared on
+     * @param query   Processed CQL query
+     * @return Future of the prepared statement for the query
+     */
+    public ListenableFuture<PreparedStatement> getAsync(Session session, String query) {
+        StatementKey key = new StatementKey(query, session.getLoggedKeyspace());
+        PreparedStatement cached = statements.getIfPresent(key);
+        if (cached != null) {
+            return Futures.immediateFuture(cached);
+        }
+        Function<PreparedStatement, PreparedStatement> addToCache = preparedStatement -> {
+            statements.put(key, preparedStatement);
+            return preparedStatement;
+        };
+        return Futures.transform(session.prepareAsync(query), addToCache);
+    }
+
+    public long getHitCount() {
+        return statements.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return statements.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return statements.stats().evictionCount();
+    }
+
+    private static final class StatementKey {
+
+        private final String query;
+
+        private final String keyspace;
+
+        private final int hash;
+
+        private StatementKey(String query, String keyspace) {
+            this.query = query;
+            this.keyspace = keyspace;
+            this.hash = Objects.hash(query, keyspace);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StatementKey)) {
+                return false;
+            }
+            StatementKey that = (StatementKey) o;
+            return query.equals(that.query) && Objects.equals(keyspace, that.keyspace);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
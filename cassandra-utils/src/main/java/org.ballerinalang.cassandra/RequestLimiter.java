@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of requests a client has in flight. A request which cannot obtain a permit within the acquire
+ * timeout is rejected right away, instead of being queued by the driver until the cluster catches up or the request
+ * times out. Asynchronous requests never wait for a permit, so that no thread is blocked on their behalf.
+ *
+ * @since 0.99.0
+ */
+public class RequestLimiter {
+
+    private final Semaphore permits;
+
+    private final int maxRequests;
+
+    private final long acquireTimeoutMillis;
+
+    /**
+     * Creates a request limiter.
+     *
+     * @param maxRequests          Maximum number of requests in flight
+     * @param acquireTimeoutMillis Time to wait for a permit before rejecting a request, 0 to reject immediately
+     */
+    public RequestLimiter(int maxRequests, long acquireTimeoutMillis) {
+        this.permits = new Semaphore(maxRequests);
+        this.maxRequests = maxRequests;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * Obtains a permit for a request, which must be returned with {@link #release()} once the request completes.
+     *
+     * @throws RequestRejectedException if no permit became available within the acquire timeout
+     */
+    public void acquire() {
+        if (!tryAcquire()) {
+            throw new RequestRejectedException("request rejected as " + maxRequests + " requests are already in "
+                    + "flight");
+        }
+    }
+
+    /**
+     * Obtains a permit for a request without waiting, regardless of the acquire timeout.
+     *
+     * @throws RequestRejectedException if no permit is available
+     */
+    public void acquireNow() {
+        if (!tryAcquireNow()) {
+            throw new RequestRejectedException("request rejected as " + maxRequests + " requests are already in "
+                    + "flight");
+        }
+    }
+
+    /**
+     * Obtains a permit for a request if one is available, without waiting.
+     *
+     * @return {@code true} if a permit was obtained
+     */
+    public boolean tryAcquireNow() {
+        return permits.tryAcquire();
+    }
+
+    /**
+     * Obtains a permit for a request, waiting for as long as it takes instead of rejecting the request. Used by
+     * writers which throttle themselves to the requests in flight, such as bulk loads.
+     */
+    public void acquireUninterruptibly() {
+        permits.acquireUninterruptibly();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getInFlightRequests() {
+        return maxRequests - permits.availablePermits();
+    }
+
+    private boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (acquireTimeoutMillis == 0) {
+            return false;
+        }
+        try {
+            return permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
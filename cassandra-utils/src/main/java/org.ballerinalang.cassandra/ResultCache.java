@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client side cache of the rows returned by select statements, keyed by the prepared statement, the values bound
+ * to it and the execution options of the statement. The cache is bounded by the number of results and by their
+ * estimated size in bytes, least recently used results being evicted first, and every result expires after its time
+ * to live.
+ * <p>
+ * Writes executed through the same client invalidate the cached results of the table they target. Each result is
+ * tagged with a version taken before the select is executed, so a result read concurrently with a write to its table
+ * is never served once the write has completed.
+ *
+ * @since 0.99.0
+ */
+public class ResultCache {
+
+    // Rough per row and per value overhead of the driver objects holding a result
+    private static final long ROW_OVERHEAD_BYTES = 64;
+
+    private static final long VALUE_OVERHEAD_BYTES = 16;
+
+    private final long maxEntries;
+
+    private final long maxBytes;
+
+    private final long defaultTtlMillis;
+
+    private final LinkedHashMap<ResultKey, CachedResult> results = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private final Map<TableKey, Long> tableVersions = new ConcurrentHashMap<>();
+
+    private volatile long allTablesVersion;
+
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a result cache.
+     *
+     * @param maxEntries       Maximum number of results kept in the cache
+     * @param maxBytes         Maximum estimated size in bytes of the results kept in the cache
+     * @param defaultTtlMillis Time to live of results whose statement does not set one
+     */
+    public ResultCache(long maxEntries, long maxBytes, long defaultTtlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.defaultTtlMillis = defaultTtlMillis;
+    }
+
+    public long getDefaultTtlMillis() {
+        return defaultTtlMillis;
+    }
+
+    /**
+     * Returns the version to pass to {@link #put} for a result which is read after this call.
+     *
+     * @return Current version of the cache
+     */
+    public long currentVersion() {
+        return versions.get();
+    }
+
+    /**
+     * Returns the cached result of the given statement, or {@code null} if it is not cached, has expired or has been
+     * invalidated.
+     *
+     * @param statement Bound select statement
+     * @return Cached result of the statement
+     */
+    public CachedResult get(BoundStatement statement) {
+        ResultKey key = new ResultKey(statement);
+        CachedResult result;
+        synchronized (this) {
+            result = results.get(key);
+            if (result != null && (result.expiryTime - System.nanoTime() <= 0 || isStale(result))) {
+                remove(key);
+                result = null;
+            }
+        }
+        if (result == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * Caches the result of the given statement, unless the table of the result has been written to since the given
+     * version was taken or the result is larger than the cache.
+     *
+     * @param statement Bound select statement
+     * @param columns   Columns of the result
+     * @param rows      Rows of the result
+     * @param version   Version of the cache taken before the statement was executed
+     * @param ttlMillis Time to live of the result
+     */
+    public void put(BoundStatement statement, ColumnDefinitions columns, List<Row> rows, long version,
+                    long ttlMillis) {
+        if (columns.size() == 0 || ttlMillis <= 0) {
+            return;
+        }
+        long size = estimateSize(columns, rows);
+        if (size > maxBytes) {
+            return;
+        }
+        CachedResult result = new CachedResult(columns, rows, size, version,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+        ResultKey key = new ResultKey(statement);
+        synchronized (this) {
+            if (isStale(result)) {
+                return;
+            }
+            remove(key);
+            results.put(key, result);
+            bytes += size;
+            Iterator<CachedResult> eldest = results.values().iterator();
+            while (results.size() > maxEntries || bytes > maxBytes) {
+                bytes -= eldest.next().size;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Invalidates the cached results of the tables the given statement writes to. Results of all tables are
+     * invalidated if the table cannot be determined from the statement.
+     *
+     * @param statement Executed write statement
+     */
+    public void invalidate(Statement statement) {
+        if (statement instanceof BatchStatement) {
+            for (Statement child : ((BatchStatement) statement).getStatements()) {
+                invalidate(child);
+            }
+        } else if (statement instanceof BoundStatement) {
+            invalidate(((BoundStatement) statement).preparedStatement());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidates the cached results of the table the given prepared statement writes to, which is the table of
+     * its bind variables. Results of all tables are invalidated if the statement has no bind variables.
+     *
+     * @param statement Executed write statement
+     */
+    public void invalidate(PreparedStatement statement) {
+        ColumnDefinitions variables = statement.getVariables();
+        if (variables.size() == 0) {
+            invalidateAll();
+            return;
+        }
+        tableVersions.put(new TableKey(variables.getKeyspace(0), variables.getTable(0)), versions.incrementAndGet());
+    }
+
+    /**
+     * Invalidates the cached results of all tables.
+     */
+    public void invalidateAll() {
+        allTablesVersion = versions.incrementAndGet();
+        synchronized (this) {
+            results.clear();
+            bytes = 0;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public synchronized long size() {
+        return results.size();
+    }
+
+    private boolean isStale(CachedResult result) {
+        if (result.version < allTablesVersion) {
+            return true;
+        }
+        Long tableVersion = tableVersions.get(result.table);
+        return tableVersion != null && result.version < tableVersion;
+    }
+
+    private void remove(ResultKey key) {
+        CachedResult removed = results.remove(key);
+        if (removed != null) {
+            bytes -= removed.size;
+        }
+    }
+
+    private static long estimateSize(ColumnDefinitions columns, List<Row> rows) {
+        long size = 0;
+        int columnCount = columns.size();
+        for (Row row : rows) {
+            size += ROW_OVERHEAD_BYTES + columnCount * VALUE_OVERHEAD_BYTES;
+            for (int i = 0; i < columnCount; i++) {
+                ByteBuffer value = row.getBytesUnsafe(i);
+                if (value != null) {
+                    size += value.remaining();
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Rows of a cached result. The rows are mapped to records on every hit, so that callers never share records.
+     */
+    public static final class CachedResult {
+
+        private final ColumnDefinitions columns;
+
+        private final List<Row> rows;
+
+        private final long size;
+
+        private final long version;
+
+        private final long expiryTime;
+
+        private final TableKey table;
+
+        private CachedResult(ColumnDefinitions columns, List<Row> rows, long size, long version, long expiryTime) {
+            this.columns = columns;
+            this.rows = rows;
+            this.size = size;
+            this.version = version;
+            this.expiryTime = expiryTime;
+            this.table = new TableKey(columns.getKeyspace(0), columns.getTable(0));
+        }
+
+        public ColumnDefinitions getColumns() {
+            return columns;
+        }
+
+        public List<Row> getRows() {
+            return rows;
+        }
+    }
+
+    /**
+     * Identifies a result by the query and keyspace of the prepared statement, the serialized bound values and the
+     * options set on the statement. Results read at different consistency levels are cached separately, so that a
+     * stronger read is never served a result read at a weaker level.
+     */
+    private static final class ResultKey {
+
+        private final String query;
+
+        private final String keyspace;
+
+        private final ByteBuffer[] values;
+
+        private final ConsistencyLevel consistencyLevel;
+
+        private final ConsistencyLevel serialConsistencyLevel;
+
+        private final int fetchSize;
+
+        private final int readTimeoutMillis;
+
+        private final Boolean idempotent;
+
+        private final boolean tracing;
+
+        private final int hash;
+
+        private ResultKey(BoundStatement statement) {
+            PreparedStatement preparedStatement = statement.preparedStatement();
+            this.query = preparedStatement.getQueryString();
+            this.keyspace = preparedStatement.getQueryKeyspace();
+            int variableCount = preparedStatement.getVariables().size();
+            this.values = new ByteBuffer[variableCount];
+            for (int i = 0; i < variableCount; i++) {
+                values[i] = statement.isSet(i) ? statement.getBytesUnsafe(i) : null;
+            }
+            this.consistencyLevel = statement.getConsistencyLevel();
+            this.serialConsistencyLevel = statement.getSerialConsistencyLevel();
+            this.fetchSize = statement.getFetchSize();
+            this.readTimeoutMillis = statement.getReadTimeoutMillis();
+            this.idempotent = statement.isIdempotent();
+            this.tracing = statement.isTracing();
+            this.hash = 31 * Objects.hash(query, keyspace, consistencyLevel, serialConsistencyLevel, fetchSize,
+                    readTimeoutMillis, idempotent, tracing) + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ResultKey)) {
+                return false;
+            }
+            ResultKey that = (ResultKey) o;
+            return query.equals(that.query) && Objects.equals(keyspace, that.keyspace)
+                    && Arrays.equals(values, that.values) && consistencyLevel == that.consistencyLevel
+                    && serialConsistencyLevel == that.serialConsistencyLevel && fetchSize == that.fetchSize
+                    && readTimeoutMillis == that.readTimeoutMillis && Objects.equals(idempotent, that.idempotent)
+                    && tracing == that.tracing;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class TableKey {
+
+        private final String keyspace;
+
+        private final String table;
+
+        private TableKey(String keyspace, String table) {
+            this.keyspace = keyspace;
+            this.table = table;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TableKey)) {
+                return false;
+            }
+            TableKey that = (TableKey) o;
+            return keyspace.equals(that.keyspace) && table.equals(that.table);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * keyspace.hashCode() + table.hashCode();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.Row;
+import org.ballerinalang.jvm.ColumnDefinition;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BStructureType;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Maps rows of a result with a given set of columns to records of a given type. The field each column is mapped to
+ * and the decoder used to read it are resolved once, when the mapper is created, so mapping a row only costs one
+ * decoder call per mapped column.
+ *
+ * @since 0.99.0
+ */
+public class RowMapper {
+
+    private final List<ColumnDefinition> columnDefs;
+
+    private final BStructureType structType;
+
+    private final String[] fieldNames;
+
+    private final ColumnDecoder[] decoders;
+
+    private final ProtocolVersion protocolVersion;
+
+    /**
+     * Creates a mapper for the given columns and record type, for rows serialized with the newest protocol version.
+     *
+     * @param columnDefinitions Column definitions of the result
+     * @param structType        Record type the rows are mapped to
+     */
+    public RowMapper(ColumnDefinitions columnDefinitions, BStructureType structType) {
+        this(columnDefinitions, structType, ProtocolVersion.NEWEST_SUPPORTED);
+    }
+
+    /**
+     * Creates a mapper for the given columns and record type.
+     *
+     * @param columnDefinitions Column definitions of the result
+     * @param structType        Record type the rows are mapped to
+     * @param protocolVersion   Protocol version the rows are serialized with, which determines the encoding of
+     *                          collection columns
+     */
+    public RowMapper(ColumnDefinitions columnDefinitions, BStructureType structType,
+                     ProtocolVersion protocolVersion) {
+        this.structType = structType;
+        this.protocolVersion = protocolVersion;
+        this.columnDefs = createColumnDefinitions(columnDefinitions);
+        int columnCount = columnDefs.size();
+        this.fieldNames = new String[columnCount];
+        this.decoders = new ColumnDecoder[columnCount];
+        /* For each column definition check if there is a corresponding field in the record type passed,
+         if there is a field, resolve the decoder to populate it with from the CQL type of the column */
+        for (int i = 0; i < columnCount; i++) {
+            String columnName = columnDefs.get(i).getName();
+            BField field = structType != null ? structType.getFields().get(columnName) : null;
+            if (field != null) {
+                fieldNames[i] = field.getFieldName();
+                decoders[i] = ColumnDecoders.forType(columnDefinitions.getType(i), field.getFieldType(),
+                        protocolVersion, columnName);
+            }
+        }
+    }
+
+    /**
+     * Maps the given row to the field values of a record.
+     *
+     * @param row Row to be mapped
+     * @return Field values of the record
+     */
+    public MapValue<String, Object> map(Row row) {
+        MapValue<String, Object> bStruct = new MapValueImpl<>();
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i] != null) {
+                bStruct.put(fieldNames[i], decoders[i].decode(row, i));
+            }
+        }
+        return bStruct;
+    }
+
+    /**
+     * Decodes the value of the column at the given index of the row.
+     *
+     * @param row   Row to read the value from
+     * @param index Zero based index of the column
+     * @return Value of the column
+     */
+    public Object decode(Row row, int index) {
+        ColumnDecoder decoder = decoders[index];
+        if (decoder == null) {
+            // Columns which are not mapped to a field are decoded on demand only.
+            decoder = ColumnDecoders.forType(row.getColumnDefinitions().getType(index), null, protocolVersion,
+                    columnDefs.get(index).getName());
+        }
+        return decoder.decode(row, index);
+    }
+
+    public List<ColumnDefinition> getColumnDefinitions() {
+        return columnDefs;
+    }
+
+    public BStructureType getStructType() {
+        return structType;
+    }
+
+    private static List<ColumnDefinition> createColumnDefinitions(ColumnDefinitions columnDefinitions) {
+        List<ColumnDefinition> columnDefs = new ArrayList<>();
+        Set<String> columnNames = new HashSet<>();
+        for (ColumnDefinitions.Definition def : columnDefinitions.asList()) {
+            String colName = def.getName();
+            if (columnNames.contains(colName)) {
+                String tableName = def.getTable().toUpperCase(Locale.ENGLISH);
+                colName = tableName + "." + colName;
+            }
+            columnDefs.add(new ColumnDefinition(colName, convert(def.getType())));
+            columnNames.add(colName);
+        }
+        return Collections.unmodifiableList(columnDefs);
+    }
+
+    private static int convert(DataType type) {
+        switch (type.getName()) {
+            case LIST:
+            case SET:
+                return TypeTags.ARRAY;
+            case MAP:
+                return TypeTags.MAP;
+            case UDT:
+                return TypeTags.RECORD;
+            case TUPLE:
+                return TypeTags.TUPLE;
+            default:
+                break;
+        }
+        if (DataType.ascii().equals(type)) {
+            return TypeTags.STRING;
+        } else if (DataType.text().equals(type)) {
+            return TypeTags.STRING;
+        } else if (DataType.uuid().equals(type)) {
+            return TypeTags.STRING;
+        } else if (DataType.varchar().equals(type)) {
+            return TypeTags.STRING;
+        } else if (DataType.bigint().equals(type)) {
+            return TypeTags.INT;
+        } else if (DataType.cint().equals(type)) {
+            return TypeTags.INT;
+        } else if (DataType.counter().equals(type)) {
+            return TypeTags.INT;
+        } else if (DataType.date().equals(type)) {
+            return TypeTags.INT;
+        } else if (DataType.decimal().equals(type)) {
+            return TypeTags.DECIMAL;
+        } else if (DataType.smallint().equals(type)) {
+            return TypeTags.INT;
+        } else if (DataType.time().equals(type)) {
+            return TypeTags.INT;
+        } else if (DataType.timestamp().equals(type)) {
+            return TypeTags.INT;
+        } else if (DataType.tinyint().equals(type)) {
+            return TypeTags.INT;
+        } else if (DataType.varint().equals(type)) {
+            return TypeTags.INT;
+        } else if (DataType.cboolean().equals(type)) {
+            return TypeTags.BOOLEAN;
+        } else if (DataType.cdouble().equals(type)) {
+            return TypeTags.FLOAT;
+        } else if (DataType.cfloat().equals(type)) {
+            return TypeTags.FLOAT;
+        } else if (DataType.blob().equals(type)) {
+            return TypeTags.ARRAY;
+        } else {
+            return TypeTags.STRING;
+        }
+    }
+}
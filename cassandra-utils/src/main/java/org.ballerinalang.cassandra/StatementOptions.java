@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Statement;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Execution options of a single statement, overriding the defaults of the client for that statement only.
+ *
+ * @since 0.99.0
+ */
+public class StatementOptions {
+
+    /**
+     * Options which leave all the defaults of the client in place.
+     */
+    public static final StatementOptions DEFAULT = new StatementOptions(null, null, -1, -1, null, false, -1);
+
+    private final ConsistencyLevel consistencyLevel;
+
+    private final ConsistencyLevel serialConsistencyLevel;
+
+    private final int fetchSize;
+
+    private final int readTimeoutMillis;
+
+    private final Boolean idempotent;
+
+    private final boolean tracing;
+
+    private final long cacheTtlMillis;
+
+    private StatementOptions(ConsistencyLevel consistencyLevel, ConsistencyLevel serialConsistencyLevel,
+                             int fetchSize, int readTimeoutMillis, Boolean idempotent, boolean tracing,
+                             long cacheTtlMillis) {
+        this.consistencyLevel = consistencyLevel;
+        this.serialConsistencyLevel = serialConsistencyLevel;
+        this.fetchSize = fetchSize;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.idempotent = idempotent;
+        this.tracing = tracing;
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    /**
+     * Creates the options from a {@code StatementOptions} record.
+     *
+     * @param options Statement options record, or {@code null} for the defaults of the client
+     * @return Statement options
+     */
+    public static StatementOptions fromConfig(MapValue<BString, Object> options) {
+        if (options == null) {
+            return DEFAULT;
+        }
+        String consistencyLevel = options.getStringValue(Constants.StatementOptionsField.CONSISTENCY_LEVEL)
+                .getValue();
+        String serialConsistencyLevel = options.getStringValue(
+                Constants.StatementOptionsField.SERIAL_CONSISTENCY_LEVEL).getValue();
+        int fetchSize = Math.toIntExact(options.getIntValue(Constants.StatementOptionsField.FETCH_SIZE));
+        int readTimeoutMillis = Math.toIntExact(options.getIntValue(
+                Constants.StatementOptionsField.READ_TIMEOUT_MILLIS));
+        if (fetchSize < -1 || fetchSize == 0) {
+            throw new BallerinaException("fetchSize should be a positive number");
+        }
+        if (readTimeoutMillis < -1) {
+            throw new BallerinaException("readTimeoutMillis cannot be negative");
+        }
+        long cacheTtlMillis = options.getIntValue(Constants.StatementOptionsField.CACHE_TTL_MILLIS);
+        if (cacheTtlMillis < -1) {
+            throw new BallerinaException("cacheTtlMillis cannot be negative");
+        }
+        Boolean idempotent = options.containsKey(Constants.StatementOptionsField.IDEMPOTENT) ?
+                options.getBooleanValue(Constants.StatementOptionsField.IDEMPOTENT) : null;
+        return new StatementOptions(
+                consistencyLevel.isEmpty() ? null : CassandraDataSourceUtils.retrieveConsistencyLevel(
+                        consistencyLevel),
+                serialConsistencyLevel.isEmpty() ? null : CassandraDataSourceUtils.retrieveSerialConsistencyLevel(
+                        serialConsistencyLevel),
+                fetchSize, readTimeoutMillis, idempotent,
+                options.getBooleanValue(Constants.StatementOptionsField.TRACING), cacheTtlMillis);
+    }
+
+    /**
+     * Returns the time in milliseconds the result of the statement is kept in the result cache of the client, 0 if
+     * the result is not cached or -1 if the default of the client applies.
+     *
+     * @return Time to live of the cached result
+     */
+    public long getCacheTtlMillis() {
+        return cacheTtlMillis;
+    }
+
+    /**
+     * Sets the options on the given statement. Options which are not set leave the defaults of the client in place.
+     *
+     * @param statement Statement to be executed
+     * @param <T>       Type of the statement
+     * @return The given statement
+     */
+    public <T extends Statement> T applyTo(T statement) {
+        if (consistencyLevel != null) {
+            statement.setConsistencyLevel(consistencyLevel);
+        }
+        if (serialConsistencyLevel != null) {
+            statement.setSerialConsistencyLevel(serialConsistencyLevel);
+        }
+        if (fetchSize != -1) {
+            statement.setFetchSize(fetchSize);
+        }
+        if (readTimeoutMillis != -1) {
+            statement.setReadTimeoutMillis(readTimeoutMillis);
+        }
+        if (idempotent != null) {
+            statement.setIdempotent(idempotent);
+        }
+        if (tracing) {
+            statement.enableTracing();
+        }
+        return statement;
+    }
+}
@@ -17,42 +17,77 @@
  */
 package org.ballerinalang.cassandra.actions;
 
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Metrics;
+import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.PagingStateException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Function;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.ballerinalang.cassandra.CassandraDataIterator;
 import org.ballerinalang.cassandra.CassandraDataSource;
+import org.ballerinalang.cassandra.CassandraDataSourceRegistry;
 import org.ballerinalang.cassandra.CassandraDataSourceUtils;
+import org.ballerinalang.cassandra.ConnectorMetrics;
 import org.ballerinalang.cassandra.Constants;
+import org.ballerinalang.cassandra.CqlValueConverter;
+import org.ballerinalang.cassandra.PreparedStatementCache;
+import org.ballerinalang.cassandra.RequestLimiter;
+import org.ballerinalang.cassandra.ResultCache;
+import org.ballerinalang.cassandra.StatementOptions;
 import org.ballerinalang.jvm.BallerinaValues;
-import org.ballerinalang.jvm.ColumnDefinition;
 import org.ballerinalang.jvm.DataIterator;
 import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.TypeChecker;
 import org.ballerinalang.jvm.types.BArrayType;
 import org.ballerinalang.jvm.types.BPackage;
 import org.ballerinalang.jvm.types.BStructureType;
 import org.ballerinalang.jvm.types.BTableType;
+import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.types.BTypes;
 import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.MapValue;
 import org.ballerinalang.jvm.values.TableValue;
 import org.ballerinalang.jvm.values.TableValueImpl;
 import org.ballerinalang.jvm.values.TypedescValue;
 import org.ballerinalang.jvm.values.api.BArray;
 import org.ballerinalang.jvm.values.api.BMap;
-import org.ballerinalang.jvm.values.api.BRefValue;
 import org.ballerinalang.jvm.values.api.BString;
 import org.ballerinalang.jvm.values.api.BValueCreator;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * {@code ActionUtil} is the base class for all Cassandra connector actions.
@@ -61,92 +96,747 @@ import java.util.Set;
  */
 class ActionUtil {
 
+    private static final BPackage CASSANDRA_PACKAGE = new BPackage("ballerina", "cassandra");
+
+    private static final long EXPANDED_QUERY_CACHE_SIZE = 1024;
+
+    private static final Cache<ExpandedQueryKey, String> EXPANDED_QUERIES =
+            CacheBuilder.newBuilder().maximumSize(EXPANDED_QUERY_CACHE_SIZE).build();
+
+    /**
+     * Executes the select statement and returns its result as a table. If the client caches results, the result is
+     * served from the cache when possible, otherwise all of its rows are read and cached.
+     */
     static TableValue executeSelect(CassandraDataSource dataSource, String query,
-                                    ArrayValue parameters, TypedescValue recordType) {
-        BArray uniformParams = constructUniformArrayOfParameters(parameters);
-        String processedQuery = createProcessedQueryString(query, uniformParams);
-        PreparedStatement preparedStatement = dataSource.getSession().prepare(processedQuery);
-        BoundStatement stmt = createBoundStatement(preparedStatement, uniformParams);
-        ResultSet rs = dataSource.getSession().execute(stmt);
+                                    ArrayValue parameters, TypedescValue recordType, StatementOptions options) {
+        ResultCache resultCache = dataSource.getResultCache();
+        long cacheTtlMillis = getCacheTtlMillis(resultCache, options);
+        if (cacheTtlMillis > 0) {
+            BStructureType structureType = recordType != null ? (BStructureType) recordType.getDescribingType() :
+                    null;
+            BoundStatement stmt = createSelectStatement(dataSource, query, parameters, options);
+            ResultCache.CachedResult cached = resultCache.get(stmt);
+            CassandraDataIterator iterator;
+            if (cached != null) {
+                iterator = new CassandraDataIterator(cached.getRows().iterator(),
+                        dataSource.getRowMapper(cached.getColumns(), structureType));
+            } else {
+                iterator = limit(dataSource, () -> {
+                    long version = resultCache.currentVersion();
+                    return cacheResult(dataSource, resultCache, stmt, execute(dataSource, stmt), version,
+                            cacheTtlMillis, structureType);
+                });
+            }
+            return getTable(iterator, structureType, dataSource.getConnectorMetrics());
+        }
+        return limit(dataSource, () -> {
+            BoundStatement stmt = createSelectStatement(dataSource, query, parameters, options);
+            ResultSet rs = execute(dataSource, stmt);
+            BStructureType structureType = recordType != null ? (BStructureType) recordType.getDescribingType() :
+                    null;
+            return getTable(new CassandraDataIterator(rs, dataSource.getRowMapper(rs.getColumnDefinitions(),
+                    structureType), getPrefetchThreshold(dataSource, stmt)), structureType,
+                    dataSource.getConnectorMetrics());
+        });
+    }
+
+    /**
+     * Executes the select statement and returns an iterator over its result. Only the first page is fetched
+     * here, the remaining pages are fetched while the iterator is consumed. As pages keep being fetched, the
+     * request holds its permit of the request limiter until the iterator is closed or its last row has been read.
+     */
+    static CassandraDataIterator executeSelectStream(CassandraDataSource dataSource, String query,
+                                                     ArrayValue parameters, TypedescValue recordType) {
+        BoundStatement stmt = createSelectStatement(dataSource, query, parameters, StatementOptions.DEFAULT);
+        BStructureType structureType = recordType != null ? (BStructureType) recordType.getDescribingType() : null;
+        return limitIterator(dataSource, () -> {
+            ResultSet rs = execute(dataSource, stmt);
+            return new CassandraDataIterator(rs, dataSource.getRowMapper(rs.getColumnDefinitions(), structureType),
+                    getPrefetchThreshold(dataSource, stmt));
+        });
+    }
+
+    /**
+     * Executes the select statement and returns a single page of its result as a {@code Page} record, along with
+     * the paging state from which the next page can be requested. Paging resumes from the given paging state, if the
+     * {@code PageRequest} record has one. The page size takes precedence over the fetch size of the options, and
+     * pages are never served from or added to the result cache.
+     */
+    static MapValue<BString, Object> executeSelectPage(CassandraDataSource dataSource, String query,
+                                                       ArrayValue parameters, TypedescValue recordType,
+                                                       MapValue<BString, Object> pageRequest,
+                                                       StatementOptions options) {
+        int pageSize = retrievePageSize(pageRequest);
+        BoundStatement stmt = applyPageRequest(createSelectStatement(dataSource, query, parameters, options),
+                pageSize, pageRequest);
+        ResultSet rs = limit(dataSource, () -> execute(dataSource, stmt));
+        return getPage(dataSource, rs, recordType);
+    }
+
+    /**
+     * Asynchronous variant of {@link #executeSelectPage}. The page is mapped to a record on the result executor.
+     */
+    static ListenableFuture<MapValue<BString, Object>> executeSelectPageAsync(CassandraDataSource dataSource,
+                                                                              String query, ArrayValue parameters,
+                                                                              TypedescValue recordType,
+                                                                              MapValue<BString, Object> pageRequest,
+                                                                              StatementOptions options) {
+        int pageSize = retrievePageSize(pageRequest);
+        return limitAsync(dataSource, () -> {
+            ListenableFuture<ResultSet> rsFuture = Futures.transformAsync(createSelectStatementAsync(dataSource,
+                    query, parameters, options), stmt -> executeAsync(dataSource, applyPageRequest(stmt, pageSize,
+                    pageRequest)));
+            return Futures.transform(rsFuture, rs -> getPage(dataSource, rs, recordType),
+                    dataSource.getResultExecutor());
+        });
+    }
+
+    private static int retrievePageSize(MapValue<BString, Object> pageRequest) {
+        long pageSize = pageRequest.getIntValue(Constants.PageRequestField.PAGE_SIZE);
+        if (pageSize <= 0) {
+            throw new BallerinaException("pageSize should be a positive number");
+        }
+        return Math.toIntExact(pageSize);
+    }
+
+    private static BoundStatement applyPageRequest(BoundStatement stmt, int pageSize,
+                                                   MapValue<BString, Object> pageRequest) {
+        stmt.setFetchSize(pageSize);
+        if (pageRequest.containsKey(Constants.PageRequestField.PAGING_STATE)) {
+            String pagingState = pageRequest.getStringValue(Constants.PageRequestField.PAGING_STATE).getValue();
+            try {
+                stmt.setPagingState(PagingState.fromString(pagingState));
+            } catch (PagingStateException e) {
+                throw new BallerinaException("\"" + pagingState + "\" is not a valid paging state of the query");
+            }
+        }
+        return stmt;
+    }
+
+    private static MapValue<BString, Object> getPage(CassandraDataSource dataSource, ResultSet rs,
+                                                     TypedescValue recordType) {
+        // Only the rows of the current page are read, so that no further page is fetched
+        int rowCount = rs.getAvailableWithoutFetching();
+        List<Row> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(rs.one());
+        }
+        BStructureType structureType = recordType != null ? (BStructureType) recordType.getDescribingType() : null;
+        Map<String, Object> page = new HashMap<>();
+        page.put(Constants.PageField.ROWS, getTable(new CassandraDataIterator(rows.iterator(),
+                dataSource.getRowMapper(rs.getColumnDefinitions(), structureType)), structureType,
+                dataSource.getConnectorMetrics()));
+        PagingState nextPagingState = rs.getExecutionInfo().getPagingState();
+        page.put(Constants.PageField.PAGING_STATE,
+                nextPagingState != null ? StringUtils.fromString(nextPagingState.toString()) : null);
+        return BallerinaValues.createRecordValue(CASSANDRA_PACKAGE, Constants.PAGE, page);
+    }
+
+    /**
+     * Starts a scan of all rows of the given table, which reads the token ranges of the ring concurrently, and
+     * returns an iterator over the rows of all ranges.
+     */
+    static CassandraDataIterator executeScan(CassandraDataSource dataSource, String keyspace, String table,
+                                             TypedescValue recordType, MapValue<BString, Object> options) {
+        ArrayValue columnsValue = options.getArrayValue(Constants.ScanOptionsField.COLUMNS);
+        List<String> columns = new ArrayList<>();
+        for (int i = 0; i < columnsValue.size(); i++) {
+            columns.add(columnsValue.getBString(i).getValue());
+        }
+        String consistencyLevelString =
+                options.getStringValue(Constants.ScanOptionsField.CONSISTENCY_LEVEL).getValue();
+        ConsistencyLevel consistencyLevel = consistencyLevelString.isEmpty() ? null
+                : CassandraDataSourceUtils.retrieveConsistencyLevel(consistencyLevelString);
         BStructureType structureType = recordType != null ? (BStructureType) recordType.getDescribingType() : null;
-        return getTable(new CassandraDataIterator(rs, getColumnDefinitions(rs), structureType), structureType);
+        return TokenRangeScanner.scan(dataSource, keyspace, table, columns, structureType,
+                Math.toIntExact(options.getIntValue(Constants.ScanOptionsField.CONCURRENCY)),
+                Math.toIntExact(options.getIntValue(Constants.ScanOptionsField.SPLITS_PER_TOKEN_RANGE)),
+                Math.toIntExact(options.getIntValue(Constants.ScanOptionsField.FETCH_SIZE)), consistencyLevel);
+    }
+
+    /**
+     * Returns the record for the next row of the iterator or {@code null} if there are no more rows.
+     */
+    static MapValue<BString, Object> getNextRecord(CassandraDataSource dataSource, DataIterator dataIterator) {
+        if (dataIterator.next()) {
+            long startTime = System.nanoTime();
+            MapValue<BString, Object> record = createRecord(dataIterator, dataIterator.getStructType());
+            dataSource.getConnectorMetrics().recordRowMapping(System.nanoTime() - startTime);
+            return record;
+        }
+        return null;
+    }
+
+    /**
+     * The next page is requested once half of the current page has been consumed.
+     */
+    private static int getPrefetchThreshold(CassandraDataSource dataSource, Statement stmt) {
+        int fetchSize = stmt.getFetchSize();
+        if (fetchSize <= 0) {
+            fetchSize = dataSource.getCluster().getConfiguration().getQueryOptions().getFetchSize();
+        }
+        return fetchSize / 2;
+    }
+
+    /**
+     * Returns the time to live of the cached result of a select executed with the given options, or 0 if the result
+     * is not cached.
+     */
+    private static long getCacheTtlMillis(ResultCache resultCache, StatementOptions options) {
+        if (resultCache == null) {
+            return 0;
+        }
+        long cacheTtlMillis = options.getCacheTtlMillis();
+        return cacheTtlMillis == -1 ? resultCache.getDefaultTtlMillis() : cacheTtlMillis;
+    }
+
+    /**
+     * Reads all rows of the given result, which must have been executed after the given cache version was taken,
+     * and caches them.
+     */
+    private static CassandraDataIterator cacheResult(CassandraDataSource dataSource, ResultCache resultCache,
+                                                     BoundStatement stmt, ResultSet rs, long version,
+                                                     long cacheTtlMillis, BStructureType structureType) {
+        ColumnDefinitions columns = rs.getColumnDefinitions();
+        List<Row> rows = rs.all();
+        resultCache.put(stmt, columns, rows, version, cacheTtlMillis);
+        return new CassandraDataIterator(rows.iterator(), dataSource.getRowMapper(columns, structureType));
     }
 
     static void executeUpdate(CassandraDataSource dataSource, String query,
-                              ArrayValue parameters) {
-        BArray uniformParams = constructUniformArrayOfParameters(parameters);
-        String processedQuery = createProcessedQueryString(query, uniformParams);
-        PreparedStatement preparedStatement = dataSource.getSession().prepare(processedQuery);
-        BoundStatement stmt = createBoundStatement(preparedStatement, uniformParams);
-        dataSource.getSession().execute(stmt);
+                              ArrayValue parameters, StatementOptions options) {
+        limit(dataSource, () -> executeWrite(dataSource,
+                options.applyTo(createStatement(dataSource, query, parameters))));
     }
 
-    static void close(CassandraDataSource dbDataSource) {
-        dbDataSource.getSession().close();
-        dbDataSource.getCluster().close();
-    }
-
-    private static List<ColumnDefinition> getColumnDefinitions(ResultSet rs) {
-        List<ColumnDefinition> columnDefs = new ArrayList<>();
-        Set<String> columnNames = new HashSet<>();
-        for (ColumnDefinitions.Definition def : rs.getColumnDefinitions().asList()) {
-            String colName = def.getName();
-            if (columnNames.contains(colName)) {
-                String tableName = def.getTable().toUpperCase(Locale.ENGLISH);
-                colName = tableName + "." + colName;
+    /**
+     * Asynchronous variant of {@link #executeSelect}. All pages of the result are fetched without blocking before
+     * the table is built, so no synchronous fetch is ever triggered from a driver I/O thread. The table is built on
+     * the result executor of the client rather than on the I/O thread which received the last page.
+     */
+    static ListenableFuture<TableValue> executeSelectAsync(CassandraDataSource dataSource, String query,
+                                                           ArrayValue parameters, TypedescValue recordType,
+                                                           StatementOptions options) {
+        BStructureType structureType = recordType != null ? (BStructureType) recordType.getDescribingType() : null;
+        ResultCache resultCache = dataSource.getResultCache();
+        long cacheTtlMillis = getCacheTtlMillis(resultCache, options);
+        if (cacheTtlMillis > 0) {
+            AsyncFunction<BoundStatement, TableValue> readThroughCache = stmt -> {
+                ResultCache.CachedResult cached = resultCache.get(stmt);
+                if (cached != null) {
+                    return Futures.immediateFuture(getTable(new CassandraDataIterator(cached.getRows().iterator(),
+                            dataSource.getRowMapper(cached.getColumns(), structureType)), structureType,
+                            dataSource.getConnectorMetrics()));
+                }
+                long version = resultCache.currentVersion();
+                Function<ResultSet, TableValue> cacheAndGetTable = rs -> getTable(cacheResult(dataSource,
+                        resultCache, stmt, rs, version, cacheTtlMillis, structureType), structureType,
+                        dataSource.getConnectorMetrics());
+                return Futures.transform(Futures.transformAsync(executeAsync(dataSource, stmt),
+                        ActionUtil::fetchAllPages), cacheAndGetTable, dataSource.getResultExecutor());
+            };
+            return limitAsync(dataSource, () -> Futures.transformAsync(createSelectStatementAsync(dataSource, query,
+                    parameters, options), readThroughCache, dataSource.getResultExecutor()));
+        }
+        Function<ResultSet, TableValue> toTable = rs -> getTable(
+                new CassandraDataIterator(rs, dataSource.getRowMapper(rs.getColumnDefinitions(), structureType)),
+                structureType, dataSource.getConnectorMetrics());
+        return limitAsync(dataSource, () -> {
+            ListenableFuture<ResultSet> rsFuture = Futures.transformAsync(createSelectStatementAsync(dataSource,
+                    query, parameters, options), stmt -> executeAsync(dataSource, stmt));
+            return Futures.transform(Futures.transformAsync(rsFuture, ActionUtil::fetchAllPages), toTable,
+                    dataSource.getResultExecutor());
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #executeUpdate}.
+     */
+    static ListenableFuture<ResultSet> executeUpdateAsync(CassandraDataSource dataSource, String query,
+                                                          ArrayValue parameters, StatementOptions options) {
+        return limitAsync(dataSource, () -> Futures.transformAsync(createStatementAsync(dataSource, query, parameters),
+                stmt -> executeWriteAsync(dataSource, options.applyTo(stmt))));
+    }
+
+    /**
+     * Binds each of the given statements against its cached prepared statement and executes them together as a
+     * single batch of the given type.
+     */
+    static void executeBatchUpdate(CassandraDataSource dataSource, ArrayValue statements, String batchType) {
+        BatchStatement batch = new BatchStatement(retrieveBatchType(batchType));
+        limit(dataSource, () -> {
+            batch.addAll(bindStatements(dataSource, statements));
+            return executeWrite(dataSource, batch);
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #executeBatchUpdate}. The statements of the batch are prepared concurrently.
+     */
+    static ListenableFuture<ResultSet> executeBatchUpdateAsync(CassandraDataSource dataSource, ArrayValue statements,
+                                                               String batchType) {
+        BatchStatement.Type type = retrieveBatchType(batchType);
+        return limitAsync(dataSource, () -> Futures.transformAsync(bindStatementsAsync(dataSource, statements),
+                boundStatements -> {
+                    BatchStatement batch = new BatchStatement(type);
+                    batch.addAll(boundStatements);
+                    return executeWriteAsync(dataSource, batch);
+                }));
+    }
+
+    /**
+     * Binds each of the given statements against its cached prepared statement and executes them as batches of at
+     * most the given size, one or more per partition or replica set depending on the grouping, which are sent in
+     * parallel.
+     */
+    static void executeBulkUpdate(CassandraDataSource dataSource, ArrayValue statements, String grouping,
+                                  long maxBatchSize) {
+        PartitionAwareBatchWriter.Grouping batchGrouping = PartitionAwareBatchWriter.retrieveGrouping(grouping);
+        int batchSize = PartitionAwareBatchWriter.retrieveMaxBatchSize(maxBatchSize);
+        limit(dataSource, () -> {
+            List<BoundStatement> boundStatements = bindStatements(dataSource, statements);
+            ListenableFuture<List<ResultSet>> result = PartitionAwareBatchWriter.write(dataSource, boundStatements,
+                    batchGrouping, batchSize);
+            try {
+                return Uninterruptibles.getUninterruptibly(result);
+            } catch (ExecutionException e) {
+                throw Throwables.propagate(e.getCause());
+            } finally {
+                invalidateCachedResults(dataSource, boundStatements);
+            }
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #executeBulkUpdate}. The statements are prepared concurrently.
+     */
+    static ListenableFuture<List<ResultSet>> executeBulkUpdateAsync(CassandraDataSource dataSource,
+                                                                    ArrayValue statements, String grouping,
+                                                                    long maxBatchSize) {
+        PartitionAwareBatchWriter.Grouping batchGrouping = PartitionAwareBatchWriter.retrieveGrouping(grouping);
+        int batchSize = PartitionAwareBatchWriter.retrieveMaxBatchSize(maxBatchSize);
+        return limitAsync(dataSource, () -> Futures.transformAsync(bindStatementsAsync(dataSource, statements),
+                boundStatements -> {
+                    ListenableFuture<List<ResultSet>> result = PartitionAwareBatchWriter.write(dataSource,
+                            boundStatements, batchGrouping, batchSize);
+                    result.addListener(() -> invalidateCachedResults(dataSource, boundStatements),
+                            MoreExecutors.directExecutor());
+                    return result;
+                }));
+    }
+
+    /**
+     * Loads the records of the given file through the given query and returns the outcome as a
+     * {@code BulkLoadResult} record. Writes are executed asynchronously within the configured in-flight window.
+     */
+    static MapValue<BString, Object> executeBulkLoad(CassandraDataSource dataSource, String filePath, String query,
+                                                     MapValue<BString, Object> options) {
+        BulkLoader loader = new BulkLoader(dataSource, query,
+                Math.toIntExact(options.getIntValue(Constants.BulkLoadOptionsField.MAX_IN_FLIGHT)),
+                Math.toIntExact(options.getIntValue(Constants.BulkLoadOptionsField.MAX_RETRIES)));
+        String format = options.getStringValue(Constants.BulkLoadOptionsField.FORMAT).getValue();
+        long startTime = System.nanoTime();
+        try {
+            switch (format) {
+                case Constants.FileFormats.CSV:
+                    String delimiter = options.getStringValue(Constants.BulkLoadOptionsField.DELIMITER).getValue();
+                    if (delimiter.length() != 1) {
+                        throw new BallerinaException("\"" + delimiter + "\" is not a valid delimiter");
+                    }
+                    loader.loadCsv(filePath, delimiter.charAt(0),
+                            options.getBooleanValue(Constants.BulkLoadOptionsField.HEADER));
+                    break;
+                case Constants.FileFormats.NDJSON:
+                    loader.loadJson(filePath);
+                    break;
+                default:
+                    throw new BallerinaException("\"" + format + "\" is not a valid file format");
             }
-            columnDefs.add(new ColumnDefinition(colName, convert(def.getType())));
-            columnNames.add(colName);
-        }
-        return columnDefs;
-    }
-
-    private static int convert(DataType type) {
-        if (DataType.ascii().equals(type)) {
-            return TypeTags.STRING;
-        } else if (DataType.text().equals(type)) {
-            return TypeTags.STRING;
-        } else if (DataType.uuid().equals(type)) {
-            return TypeTags.STRING;
-        } else if (DataType.varchar().equals(type)) {
-            return TypeTags.STRING;
-        } else if (DataType.bigint().equals(type)) {
-            return TypeTags.INT;
-        } else if (DataType.cint().equals(type)) {
-            return TypeTags.INT;
-        } else if (DataType.counter().equals(type)) {
-            return TypeTags.INT;
-        } else if (DataType.date().equals(type)) {
-            return TypeTags.INT;
-        } else if (DataType.decimal().equals(type)) {
-            return TypeTags.FLOAT;
-        } else if (DataType.smallint().equals(type)) {
-            return TypeTags.INT;
-        } else if (DataType.time().equals(type)) {
-            return TypeTags.INT;
-        } else if (DataType.timestamp().equals(type)) {
-            return TypeTags.INT;
-        } else if (DataType.tinyint().equals(type)) {
-            return TypeTags.INT;
-        } else if (DataType.varint().equals(type)) {
-            return TypeTags.INT;
-        } else if (DataType.cboolean().equals(type)) {
-            return TypeTags.BOOLEAN;
-        } else if (DataType.cdouble().equals(type)) {
-            return TypeTags.FLOAT;
-        } else if (DataType.cfloat().equals(type)) {
-            return TypeTags.FLOAT;
-        } else if (DataType.blob().equals(type)) {
-            return TypeTags.ARRAY;
+        } finally {
+            // The statement the loader prepared is reused, so that invalidating cannot fail and hide the error
+            ResultCache resultCache = dataSource.getResultCache();
+            if (resultCache != null) {
+                resultCache.invalidate(loader.getStatement());
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        Map<String, Object> result = new HashMap<>();
+        result.put(Constants.BulkLoadResultField.ROWS, loader.getRows());
+        result.put(Constants.BulkLoadResultField.ERRORS, loader.getErrors());
+        result.put(Constants.BulkLoadResultField.RETRIES, loader.getRetries());
+        result.put(Constants.BulkLoadResultField.ELAPSED_MILLIS, elapsedMillis);
+        result.put(Constants.BulkLoadResultField.ROWS_PER_SECOND,
+                elapsedMillis == 0 ? 0.0 : loader.getRows() * 1000.0 / elapsedMillis);
+        return BallerinaValues.createRecordValue(CASSANDRA_PACKAGE, Constants.BULK_LOAD_RESULT, result);
+    }
+
+    /**
+     * Executes the statement, recording the time until the first page of the result is received.
+     */
+    private static ResultSet execute(CassandraDataSource dataSource, Statement stmt) {
+        long startTime = System.nanoTime();
+        try {
+            return dataSource.getSession().execute(stmt);
+        } finally {
+            dataSource.getConnectorMetrics().recordExecute(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute}.
+     */
+    static ListenableFuture<ResultSet> executeAsync(CassandraDataSource dataSource, Statement stmt) {
+        long startTime = System.nanoTime();
+        ListenableFuture<ResultSet> result = dataSource.getSession().executeAsync(stmt);
+        result.addListener(() -> dataSource.getConnectorMetrics().recordExecute(System.nanoTime() - startTime),
+                MoreExecutors.directExecutor());
+        return result;
+    }
+
+    /**
+     * Executes the write statement and invalidates the cached results of the tables it writes to. The results are
+     * invalidated even if the write fails, as a write which timed out may still have been applied.
+     */
+    private static ResultSet executeWrite(CassandraDataSource dataSource, Statement stmt) {
+        try {
+            return execute(dataSource, stmt);
+        } finally {
+            invalidateCachedResults(dataSource, Arrays.asList(stmt));
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #executeWrite}.
+     */
+    private static ListenableFuture<ResultSet> executeWriteAsync(CassandraDataSource dataSource, Statement stmt) {
+        ListenableFuture<ResultSet> result = executeAsync(dataSource, stmt);
+        result.addListener(() -> invalidateCachedResults(dataSource, Arrays.asList(stmt)),
+                MoreExecutors.directExecutor());
+        return result;
+    }
+
+    private static void invalidateCachedResults(CassandraDataSource dataSource,
+                                                Collection<? extends Statement> statements) {
+        ResultCache resultCache = dataSource.getResultCache();
+        if (resultCache != null) {
+            for (Statement stmt : statements) {
+                resultCache.invalidate(stmt);
+            }
+        }
+    }
+
+    /**
+     * Executes the given request holding a permit of the request limiter of the client, if requests are limited.
+     */
+    private static <T> T limit(CassandraDataSource dataSource, Supplier<T> request) {
+        RequestLimiter requestLimiter = dataSource.getRequestLimiter();
+        if (requestLimiter == null) {
+            return request.get();
+        }
+        requestLimiter.acquire();
+        try {
+            return request.get();
+        } finally {
+            requestLimiter.release();
+        }
+    }
+
+    /**
+     * Variant of {@link #limit} for requests returning an iterator. The permit is held until the iterator is closed.
+     */
+    private static CassandraDataIterator limitIterator(CassandraDataSource dataSource,
+                                                       Supplier<CassandraDataIterator> request) {
+        RequestLimiter requestLimiter = dataSource.getRequestLimiter();
+        if (requestLimiter == null) {
+            return request.get();
+        }
+        requestLimiter.acquire();
+        CassandraDataIterator iterator;
+        try {
+            iterator = request.get();
+        } catch (RuntimeException e) {
+            requestLimiter.release();
+            throw e;
+        }
+        iterator.onClose(requestLimiter::release);
+        return iterator;
+    }
+
+    /**
+     * Asynchronous variant of {@link #limit}. The permit is held until the returned future completes. A request is
+     * rejected right away if no permit is available, as waiting for one would block the calling thread.
+     */
+    private static <T> ListenableFuture<T> limitAsync(CassandraDataSource dataSource,
+                                                      Supplier<ListenableFuture<T>> request) {
+        RequestLimiter requestLimiter = dataSource.getRequestLimiter();
+        if (requestLimiter == null) {
+            return request.get();
+        }
+        requestLimiter.acquireNow();
+        ListenableFuture<T> result;
+        try {
+            result = request.get();
+        } catch (RuntimeException e) {
+            requestLimiter.release();
+            throw e;
+        }
+        result.addListener(requestLimiter::release, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    private static List<BoundStatement> bindStatements(CassandraDataSource dataSource, ArrayValue statements) {
+        int statementCount = statements.size();
+        List<BoundStatement> boundStatements = new ArrayList<>(statementCount);
+        for (int i = 0; i < statementCount; i++) {
+            MapValue<BString, Object> statement = (MapValue<BString, Object>) statements.getRefValue(i);
+            boundStatements.add(createStatement(dataSource,
+                    statement.getStringValue(Constants.BatchStatementField.QUERY_STRING).getValue(),
+                    statement.getArrayValue(Constants.BatchStatementField.PARAMETERS)));
+        }
+        return boundStatements;
+    }
+
+    private static ListenableFuture<List<BoundStatement>> bindStatementsAsync(CassandraDataSource dataSource,
+                                                                             ArrayValue statements) {
+        int statementCount = statements.size();
+        List<ListenableFuture<BoundStatement>> boundStatements = new ArrayList<>(statementCount);
+        for (int i = 0; i < statementCount; i++) {
+            MapValue<BString, Object> statement = (MapValue<BString, Object>) statements.getRefValue(i);
+            boundStatements.add(createStatementAsync(dataSource,
+                    statement.getStringValue(Constants.BatchStatementField.QUERY_STRING).getValue(),
+                    statement.getArrayValue(Constants.BatchStatementField.PARAMETERS)));
+        }
+        return Futures.allAsList(boundStatements);
+    }
+
+    /**
+     * Prepares the given query, using the prepared statement cache, and binds the parameters to it. Queries whose
+     * parameters are all plain Ballerina values are bound directly, as there is nothing to expand or convert.
+     */
+    private static BoundStatement createStatement(CassandraDataSource dataSource, String query,
+                                                  ArrayValue parameters) {
+        ConnectorMetrics metrics = dataSource.getConnectorMetrics();
+        long startTime = System.nanoTime();
+        BoundStatement boundStmt;
+        long prepareTime;
+        if (hasOnlyPrimitiveParameters(parameters)) {
+            PreparedStatement stmt = dataSource.prepare(query);
+            prepareTime = System.nanoTime() - startTime;
+            boundStmt = bindPrimitiveParameters(stmt, parameters);
+        } else {
+            BArray uniformParams = constructUniformArrayOfParameters(parameters);
+            boolean expandArrays = dataSource.isExpandArrayParameters();
+            String processedQuery = createProcessedQueryString(query, uniformParams, expandArrays);
+            long prepareStartTime = System.nanoTime();
+            PreparedStatement stmt = dataSource.prepare(processedQuery);
+            prepareTime = System.nanoTime() - prepareStartTime;
+            boundStmt = createBoundStatement(stmt, uniformParams, expandArrays);
+        }
+        metrics.recordPrepare(prepareTime);
+        metrics.recordBind(System.nanoTime() - startTime - prepareTime);
+        return boundStmt;
+    }
+
+    /**
+     * Creates the statement of a select. It is marked idempotent, which makes it eligible for speculative execution,
+     * if the client is configured to treat queries as idempotent, unless the given options say otherwise.
+     */
+    private static BoundStatement createSelectStatement(CassandraDataSource dataSource, String query,
+                                                        ArrayValue parameters, StatementOptions options) {
+        BoundStatement stmt = createStatement(dataSource, query, parameters);
+        if (dataSource.isIdempotentQueries()) {
+            stmt.setIdempotent(true);
+        }
+        return options.applyTo(stmt);
+    }
+
+    /**
+     * Asynchronous variant of {@link #createSelectStatement}.
+     */
+    private static ListenableFuture<BoundStatement> createSelectStatementAsync(CassandraDataSource dataSource,
+                                                                               String query, ArrayValue parameters,
+                                                                               StatementOptions options) {
+        boolean idempotentQueries = dataSource.isIdempotentQueries();
+        Function<BoundStatement, BoundStatement> applyOptions = boundStmt -> {
+            if (idempotentQueries) {
+                boundStmt.setIdempotent(true);
+            }
+            return options.applyTo(boundStmt);
+        };
+        return Futures.transform(createStatementAsync(dataSource, query, parameters), applyOptions);
+    }
+
+    /**
+     * Asynchronous variant of {@link #createStatement}.
+     */
+    private static ListenableFuture<BoundStatement> createStatementAsync(CassandraDataSource dataSource,
+                                                                         String query, ArrayValue parameters) {
+        ConnectorMetrics metrics = dataSource.getConnectorMetrics();
+        Function<PreparedStatement, BoundStatement> bind;
+        String processedQuery;
+        if (hasOnlyPrimitiveParameters(parameters)) {
+            processedQuery = query;
+            bind = preparedStatement -> {
+                long startTime = System.nanoTime();
+                BoundStatement boundStmt = bindPrimitiveParameters(preparedStatement, parameters);
+                metrics.recordBind(System.nanoTime() - startTime);
+                return boundStmt;
+            };
         } else {
-            return TypeTags.STRING;
+            // Expanding the query is timed as part of binding, as it is on the synchronous path
+            long processStartTime = System.nanoTime();
+            BArray uniformParams = constructUniformArrayOfParameters(parameters);
+            boolean expandArrays = dataSource.isExpandArrayParameters();
+            processedQuery = createProcessedQueryString(query, uniformParams, expandArrays);
+            long processTime = System.nanoTime() - processStartTime;
+            bind = preparedStatement -> {
+                long startTime = System.nanoTime();
+                BoundStatement boundStmt = createBoundStatement(preparedStatement, uniformParams, expandArrays);
+                metrics.recordBind(processTime + System.nanoTime() - startTime);
+                return boundStmt;
+            };
+        }
+        long prepareStartTime = System.nanoTime();
+        ListenableFuture<PreparedStatement> preparedStatement = dataSource.prepareAsync(processedQuery);
+        preparedStatement.addListener(() -> metrics.recordPrepare(System.nanoTime() - prepareStartTime),
+                MoreExecutors.directExecutor());
+        return Futures.transform(preparedStatement, bind);
+    }
+
+    private static BatchStatement.Type retrieveBatchType(String batchType) {
+        try {
+            return BatchStatement.Type.valueOf(batchType);
+        } catch (IllegalArgumentException e) {
+            throw new BallerinaException("\"" + batchType + "\" is not a valid batch type");
+        }
+    }
+
+    private static ListenableFuture<ResultSet> fetchAllPages(ResultSet rs) {
+        if (rs.isFullyFetched()) {
+            return Futures.immediateFuture(rs);
+        }
+        return Futures.transformAsync(rs.fetchMoreResults(), ActionUtil::fetchAllPages);
+    }
+
+    /**
+     * Returns the metrics of the driver, if driver metrics are enabled, together with the metrics collected by the
+     * connector as a {@code Metrics} record.
+     */
+    static MapValue<BString, Object> getMetrics(CassandraDataSource dataSource) {
+        Map<String, Object> metrics = new HashMap<>();
+        Metrics driverMetrics = dataSource.getCluster().getMetrics();
+        if (driverMetrics != null) {
+            metrics.put("requests", createTimerMetrics(driverMetrics.getRequestsTimer()));
+            metrics.put("errors", createErrorMetrics(driverMetrics.getErrorMetrics()));
+            metrics.put("openConnections", driverMetrics.getOpenConnections().getValue().longValue());
+            metrics.put("inFlightRequests", driverMetrics.getInFlightRequests().getValue().longValue());
+            metrics.put("connectedToHosts", driverMetrics.getConnectedToHosts().getValue().longValue());
+            metrics.put("knownHosts", driverMetrics.getKnownHosts().getValue().longValue());
+        }
+        ConnectorMetrics connectorMetrics = dataSource.getConnectorMetrics();
+        metrics.put("prepare", createTimerMetrics(connectorMetrics.getPrepareTimer()));
+        metrics.put("bind", createTimerMetrics(connectorMetrics.getBindTimer()));
+        metrics.put("execute", createTimerMetrics(connectorMetrics.getExecuteTimer()));
+        metrics.put("rowMapping", createTimerMetrics(connectorMetrics.getRowMappingTimer()));
+        metrics.put("rowsReturned", connectorMetrics.getRows().getCount());
+        PreparedStatementCache preparedStatementCache = dataSource.getPreparedStatementCache();
+        metrics.put("preparedStatementCacheHits", preparedStatementCache.getHitCount());
+        metrics.put("preparedStatementCacheMisses", preparedStatementCache.getMissCount());
+        metrics.put("preparedStatementCacheEvictions", preparedStatementCache.getEvictionCount());
+        ResultCache resultCache = dataSource.getResultCache();
+        if (resultCache != null) {
+            metrics.put("resultCacheHits", resultCache.getHitCount());
+            metrics.put("resultCacheMisses", resultCache.getMissCount());
+            metrics.put("resultCacheEvictions", resultCache.getEvictionCount());
+        }
+        return BallerinaValues.createRecordValue(CASSANDRA_PACKAGE, Constants.METRICS, metrics);
+    }
+
+    private static MapValue<BString, Object> createTimerMetrics(Timer timer) {
+        Snapshot snapshot = timer.getSnapshot();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("count", timer.getCount());
+        metrics.put("meanRate", timer.getMeanRate());
+        metrics.put("oneMinuteRate", timer.getOneMinuteRate());
+        metrics.put("meanMillis", toMillis(snapshot.getMean()));
+        metrics.put("minMillis", toMillis(snapshot.getMin()));
+        metrics.put("maxMillis", toMillis(snapshot.getMax()));
+        metrics.put("p50Millis", toMillis(snapshot.getMedian()));
+        metrics.put("p75Millis", toMillis(snapshot.get75thPercentile()));
+        metrics.put("p95Millis", toMillis(snapshot.get95thPercentile()));
+        metrics.put("p99Millis", toMillis(snapshot.get99thPercentile()));
+        metrics.put("p999Millis", toMillis(snapshot.get999thPercentile()));
+        return BallerinaValues.createRecordValue(CASSANDRA_PACKAGE, Constants.TIMER_METRICS, metrics);
+    }
+
+    private static MapValue<BString, Object> createErrorMetrics(Metrics.Errors errors) {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("connectionErrors", errors.getConnectionErrors().getCount());
+        metrics.put("authenticationErrors", errors.getAuthenticationErrors().getCount());
+        metrics.put("writeTimeouts", errors.getWriteTimeouts().getCount());
+        metrics.put("readTimeouts", errors.getReadTimeouts().getCount());
+        metrics.put("unavailables", errors.getUnavailables().getCount());
+        metrics.put("clientTimeouts", errors.getClientTimeouts().getCount());
+        metrics.put("otherErrors", errors.getOthers().getCount());
+        metrics.put("retries", errors.getRetries().getCount());
+        metrics.put("ignores", errors.getIgnores().getCount());
+        metrics.put("speculativeExecutions", errors.getSpeculativeExecutions().getCount());
+        return BallerinaValues.createRecordValue(CASSANDRA_PACKAGE, Constants.ERROR_METRICS, metrics);
+    }
+
+    /**
+     * Timer snapshots hold durations in nanoseconds.
+     */
+    private static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Warms the data source of a client up according to the given {@code WarmUpConfig} record. If the warm-up is
+     * waited for, this returns once it completes or its timeout elapses, whichever comes first.
+     */
+    static void warmUp(CassandraDataSource dataSource, MapValue<BString, Object> warmUpConfig) {
+        ArrayValue statementsValue = warmUpConfig.getArrayValue(Constants.WarmUpConfigField.STATEMENTS);
+        if (statementsValue.size() == 0) {
+            return;
+        }
+        long timeoutMillis = warmUpConfig.getIntValue(Constants.WarmUpConfigField.TIMEOUT_MILLIS);
+        if (timeoutMillis <= 0) {
+            throw new BallerinaException("timeoutMillis should be a positive number");
+        }
+        List<String> statements = new ArrayList<>(statementsValue.size());
+        for (int i = 0; i < statementsValue.size(); i++) {
+            statements.add(statementsValue.getBString(i).getValue());
+        }
+        ListenableFuture<List<Object>> result = dataSource.warmUp(statements);
+        if (!warmUpConfig.getBooleanValue(Constants.WarmUpConfigField.WAIT_FOR_COMPLETION)) {
+            return;
+        }
+        try {
+            Uninterruptibles.getUninterruptibly(result, timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new BallerinaException("warm-up of the client failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            // The client is ready once the deadline passes, the remaining statements are prepared in the background
+        }
+    }
+
+    /**
+     * Releases the data source of a client, closing it once no other client shares it. Closing the cluster also
+     * closes the sessions of the other keyspaces of the data source.
+     */
+    static void close(CassandraDataSource dbDataSource) {
+        if (!CassandraDataSourceRegistry.release(dbDataSource)) {
+            return;
         }
+        dbDataSource.close();
     }
 
     /**
      * Search for the first occurrence of "?" from the given starting point and replace it with given number of "?"'s.
      */
-    private static Object[] expandQuery(int start, int count, String query) {
+    @VisibleForTesting
+    static Object[] expandQuery(int start, int count, String query) {
         StringBuilder result = new StringBuilder();
         int n = query.length();
         boolean doubleQuoteExists = false;
@@ -160,7 +850,8 @@ class ActionUtil {
             } else if (query.charAt(i) == '?' && !(doubleQuoteExists || singleQuoteExists)) {
                 result.append(query, 0, i);
                 result.append(generateQuestionMarks(count));
-                end = result.length() + 1;
+                // The search for the next "?" continues after the last "?" inserted, if any
+                end = count > 0 ? result.length() + 1 : result.length();
                 if (i + 1 < n) {
                     result.append(query.substring(i + 1));
                 }
@@ -182,7 +873,37 @@ class ActionUtil {
     }
 
     private static String getCQLType(BMap parameter) {
-        return parameter.get(StringUtils.fromString(Constants.CQL_TYPE_FIELD)).toString();
+        return parameter.get(Constants.ParameterField.CQL_TYPE).toString();
+    }
+
+    private static boolean hasOnlyPrimitiveParameters(ArrayValue parameters) {
+        int paramCount = parameters.size();
+        for (int i = 0; i < paramCount; i++) {
+            Object value = parameters.get(i);
+            if (!(value instanceof Long || value instanceof Double || value instanceof Boolean
+                    || value instanceof BString)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Binds plain Ballerina values by position, converting each value to the Java type of the CQL type of its bind
+     * variable, without creating intermediate parameter records or converting the values through strings.
+     */
+    private static BoundStatement bindPrimitiveParameters(PreparedStatement stmt, ArrayValue parameters) {
+        ColumnDefinitions variables = stmt.getVariables();
+        int paramCount = parameters.size();
+        if (paramCount != variables.size()) {
+            throw new BallerinaException("the query expects " + variables.size() + " parameters, but " + paramCount
+                    + " parameters were passed");
+        }
+        Object[] values = new Object[paramCount];
+        for (int i = 0; i < paramCount; i++) {
+            values[i] = toDriverValue(parameters.get(i), variables.getType(i), i);
+        }
+        return stmt.bind(values);
     }
 
     private static void bindValue(ArrayList<Object> dataList, Object value, String csqlType) {
@@ -207,10 +928,19 @@ class ActionUtil {
             case Constants.DataTypes.BOOLEAN:
                 dataList.add(Boolean.parseBoolean(String.valueOf(value)));
                 break;
+            case Constants.DataTypes.BLOB:
+                dataList.add(ByteBuffer.wrap(((BArray) value).getBytes()));
+                break;
         }
     }
 
-    private static BoundStatement createBoundStatement(PreparedStatement stmt, BArray params) {
+    /**
+     * Binds the given parameters to the statement. Array parameters are either expanded into one value per element,
+     * matching a query expanded by {@link #createProcessedQueryString}, or bound as a single collection value when
+     * array expansion is disabled or the parameter is of the LIST type.
+     */
+    @VisibleForTesting
+    static BoundStatement createBoundStatement(PreparedStatement stmt, BArray params, boolean expandArrays) {
         ArrayList<Object> dataList = new ArrayList<>();
         BoundStatement boundStmt = stmt.bind();
         if (params == null) {
@@ -221,43 +951,20 @@ class ActionUtil {
             BMap<String, Object> paramStruct = (BMap<String, Object>) params.get(index);
             if (paramStruct != null) {
                 String cqlType = getCQLType(paramStruct);
-                Object value = paramStruct.get(StringUtils.fromString(Constants.VALUE_FIELD));
-                //If the parameter is an array and sql type is not "array" then treat it as an array of parameters
-                if (value instanceof BArray && !Constants.DataTypes.LIST
-                        .equalsIgnoreCase(cqlType)) {
-                    int arrayLength = ((BArray) value).size();
-                    int typeTag = ((BArray) ((BArray) value).getType()).getElementType().getTag();
+                Object value = paramStruct.get(Constants.ParameterField.VALUE);
+                if (value instanceof BArray && Constants.DataTypes.BLOB.equalsIgnoreCase(cqlType)) {
+                    bindValue(dataList, value, cqlType);
+                } else if (value instanceof BArray
+                        && (!expandArrays || Constants.DataTypes.LIST.equalsIgnoreCase(cqlType))) {
+                    dataList.add(createCollection((BArray) value, stmt.getVariables().getType(dataList.size()),
+                            index));
+                } else if (value instanceof BArray) {
+                    //If the parameter is an array and sql type is not "array" then treat it as an array of parameters
+                    BArray array = (BArray) value;
+                    int arrayLength = array.size();
+                    int typeTag = ((BArrayType) array.getType()).getElementType().getTag();
                     for (int i = 0; i < arrayLength; i++) {
-                        Object paramValue;
-                        switch (typeTag) {
-                            case TypeTags.INT:
-                                paramValue = ((BArray) value).getInt(i);
-                                break;
-                            case TypeTags.FLOAT:
-                                paramValue = ((BArray) value).getFloat(i);
-                                break;
-                            case TypeTags.STRING:
-                                paramValue = ((BArray) value).getBString(i);
-                                break;
-                            case TypeTags.BOOLEAN:
-                                paramValue = ((BArray) value).getBoolean(i);
-                                break;
-                            case TypeTags.ARRAY:
-                                Object array = ((BArray) value).get(i);
-                                if (((BArrayType) ((BArray) value).getType()).getElementType().getTag() ==
-                                        TypeTags.BYTE) {
-                                    paramValue = array;
-                                    break;
-                                } else {
-                                    throw new BallerinaException("unsupported array type for parameter index: " +
-                                            index + ". Array element type being an array" +
-                                            " is supported only when the inner array" +
-                                            " element type is BYTE");
-                                }
-                            default:
-                                throw new BallerinaException("unsupported array type for parameter index " + index);
-                        }
-                        bindValue(dataList, paramValue, cqlType);
+                        bindValue(dataList, getArrayElement(array, i, typeTag, index), cqlType);
                     }
                 } else {
                     bindValue(dataList, value, cqlType);
@@ -270,20 +977,71 @@ class ActionUtil {
         return boundStmt;
     }
 
-    private static BArray constructUniformArrayOfParameters(ArrayValue inputParams) {
+    private static Object getArrayElement(BArray array, int i, int typeTag, int index) {
+        switch (typeTag) {
+            case TypeTags.INT:
+                return array.getInt(i);
+            case TypeTags.FLOAT:
+                return array.getFloat(i);
+            case TypeTags.STRING:
+                return array.getBString(i);
+            case TypeTags.BOOLEAN:
+                return array.getBoolean(i);
+            case TypeTags.ARRAY:
+                if (((BArrayType) ((BArrayType) array.getType()).getElementType()).getElementType().getTag() ==
+                        TypeTags.BYTE) {
+                    return array.get(i);
+                } else {
+                    throw new BallerinaException("unsupported array type for parameter index: " +
+                            index + ". Array element type being an array" +
+                            " is supported only when the inner array" +
+                            " element type is BYTE");
+                }
+            default:
+                throw new BallerinaException("unsupported array type for parameter index " + index);
+        }
+    }
+
+    /**
+     * Creates the collection value bound to a single placeholder, such as the one of an {@code IN ?} restriction,
+     * converting each element to the element type of the bind variable.
+     */
+    private static Collection<Object> createCollection(BArray array, DataType type, int index) {
+        List<DataType> typeArguments = type.getTypeArguments();
+        DataType elementType = typeArguments.isEmpty() ? type : typeArguments.get(0);
+        int arrayLength = array.size();
+        Collection<Object> values = type.getName() == DataType.Name.SET ? new LinkedHashSet<>(arrayLength) :
+                new ArrayList<>(arrayLength);
+        int typeTag = ((BArrayType) array.getType()).getElementType().getTag();
+        for (int i = 0; i < arrayLength; i++) {
+            values.add(toDriverValue(getArrayElement(array, i, typeTag, index), elementType, index));
+        }
+        return values;
+    }
+
+    private static Object toDriverValue(Object value, DataType type, int index) {
+        try {
+            return CqlValueConverter.toDriverValue(value, type);
+        } catch (RuntimeException e) {
+            throw new BallerinaException("invalid value for parameter index " + index + ": " + e.getMessage(), e);
+        }
+    }
+
+    @VisibleForTesting
+    static BArray constructUniformArrayOfParameters(ArrayValue inputParams) {
         int count = inputParams.size();
         BArrayType arrayType = new BArrayType(BTypes.typeMap);
         BArray uniformParams = BValueCreator.createArrayValue(arrayType);
         for (int i = 0; i < count; i++) {
-            BRefValue typeValue = (BRefValue) inputParams.getRefValue(i);
+            Object typeValue = inputParams.get(i);
+            BType type = TypeChecker.getType(typeValue);
             BMap<BString, Object> param;
-            if (typeValue.getType().getTag() == TypeTags.RECORD) param = (BMap<BString, Object>) typeValue;
-            else {
-                param = BValueCreator.createRecordValue(new BPackage("ballerina", "cassandra"),
-                        Constants.CASSANDRA_PARAMETER);
-                param.put(StringUtils.fromString(Constants.CQL_TYPE_FIELD),
-                        CassandraDataSourceUtils.getCQLType(typeValue.getType()));
-                param.put(StringUtils.fromString(Constants.VALUE_FIELD), typeValue);
+            if (type.getTag() == TypeTags.RECORD) {
+                param = (BMap<BString, Object>) typeValue;
+            } else {
+                param = BValueCreator.createRecordValue(CASSANDRA_PACKAGE, Constants.CASSANDRA_PARAMETER);
+                param.put(Constants.ParameterField.CQL_TYPE, CassandraDataSourceUtils.getCQLType(type));
+                param.put(Constants.ParameterField.VALUE, typeValue);
             }
             uniformParams.add(i, param);
         }
@@ -292,41 +1050,115 @@ class ActionUtil {
 
     /**
      * If there are any arrays of parameter for types other than sql array, the given query is expanded by adding "?" s
-     * to match with the array size.
+     * to match with the array size. Expanded queries are cached by the query and the shape of its parameters.
      */
-    private static String createProcessedQueryString(String query, BArray parameters) {
-        String currentQuery = query;
-        if (parameters != null) {
-            int start = 0;
-            Object[] vals;
-            int count;
-            int paramCount = parameters.size();
-            for (int i = 0; i < paramCount; i++) {
-                BMap param = (BMap) parameters.get(i);
-                if (param != null) {
-                    String cqlType = getCQLType(param);
-                    Object value = param.get(StringUtils.fromString(Constants.VALUE_FIELD));
-                    if (value instanceof BArray && !Constants.DataTypes.LIST.equalsIgnoreCase(cqlType)) {
-                        count = ((BArray) value).size();
-                    } else {
-                        count = 1;
-                    }
-                    vals = expandQuery(start, count, currentQuery);
-                    start = (Integer) vals[0];
-                    currentQuery = (String) vals[1];
+    @VisibleForTesting
+    static String createProcessedQueryString(String query, BArray parameters, boolean expandArrays) {
+        if (parameters == null) {
+            return query;
+        }
+        int[] shape = getParameterShape(parameters, expandArrays);
+        if (shape == null) {
+            return query;
+        }
+        try {
+            return EXPANDED_QUERIES.get(new ExpandedQueryKey(query, shape), () -> expandQueryString(query, shape));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the number of "?"s each parameter expands to, which is 0 for an empty array, and -1 for null parameters
+     * whose "?" is left as it is, or {@code null} if no parameter needs to be expanded.
+     */
+    private static int[] getParameterShape(BArray parameters, boolean expandArrays) {
+        int paramCount = parameters.size();
+        int[] shape = new int[paramCount];
+        boolean expanded = false;
+        for (int i = 0; i < paramCount; i++) {
+            BMap param = (BMap) parameters.get(i);
+            if (param != null) {
+                String cqlType = getCQLType(param);
+                Object value = param.get(Constants.ParameterField.VALUE);
+                if (value instanceof BArray && expandArrays && !Constants.DataTypes.LIST.equalsIgnoreCase(cqlType)
+                        && !Constants.DataTypes.BLOB.equalsIgnoreCase(cqlType)) {
+                    shape[i] = ((BArray) value).size();
+                    expanded = true;
+                } else {
+                    shape[i] = 1;
                 }
+            } else {
+                shape[i] = -1;
+            }
+        }
+        return expanded ? shape : null;
+    }
+
+    private static String expandQueryString(String query, int[] shape) {
+        String currentQuery = query;
+        int start = 0;
+        Object[] vals;
+        for (int count : shape) {
+            if (count != -1) {
+                vals = expandQuery(start, count, currentQuery);
+                start = (Integer) vals[0];
+                currentQuery = (String) vals[1];
             }
         }
         return currentQuery;
     }
 
-    private static TableValueImpl getTable(DataIterator dataIterator, BStructureType constraintType) {
+    @VisibleForTesting
+    static TableValueImpl getTable(DataIterator dataIterator, BStructureType constraintType,
+                                   ConnectorMetrics metrics) {
         BTableType newTableType = new BTableType(constraintType, false);
         TableValueImpl table = new TableValueImpl(newTableType);
         while (dataIterator.next()) {
-            table.add(BallerinaValues.createRecordValue(constraintType.getPackage(), constraintType.getName(),
-                    (Map<String, Object>) dataIterator.generateNext()));
+            long startTime = System.nanoTime();
+            table.add(createRecord(dataIterator, constraintType));
+            metrics.recordRowMapping(System.nanoTime() - startTime);
         }
         return table;
     }
+
+    private static MapValue<BString, Object> createRecord(DataIterator dataIterator, BStructureType constraintType) {
+        return BallerinaValues.createRecordValue(constraintType.getPackage(), constraintType.getName(),
+                (Map<String, Object>) dataIterator.generateNext());
+    }
+
+    /**
+     * Identifies an expanded query by the original query and the number of "?"s each of its parameters expands to.
+     */
+    private static final class ExpandedQueryKey {
+
+        private final String query;
+
+        private final int[] shape;
+
+        private final int hash;
+
+        private ExpandedQueryKey(String query, int[] shape) {
+            this.query = query;
+            this.shape = shape;
+            this.hash = 31 * query.hashCode() + Arrays.hashCode(shape);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExpandedQueryKey)) {
+                return false;
+            }
+            ExpandedQueryKey that = (ExpandedQueryKey) o;
+            return query.equals(that.query) && Arrays.equals(shape, that.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
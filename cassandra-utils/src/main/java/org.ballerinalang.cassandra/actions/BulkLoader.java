@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra.actions;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.TypeCodec;
+import com.datastax.driver.core.exceptions.QueryValidationException;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.ballerinalang.cassandra.CassandraDataSource;
+import org.ballerinalang.cassandra.CqlValueConverter;
+import org.ballerinalang.cassandra.RequestLimiter;
+import org.ballerinalang.jvm.JSONParser;
+import org.ballerinalang.jvm.values.MapValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads the records of a local CSV or newline delimited JSON file through a prepared statement. Writes are executed
+ * asynchronously, but at most a fixed number of them are in flight at any time, so reading the file is throttled to
+ * the rate at which the cluster accepts the writes. Failed writes are retried with an exponential backoff, scheduled
+ * off the I/O threads of the driver.
+ *
+ * @since 0.99.0
+ */
+class BulkLoader {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final long BASE_RETRY_DELAY_MILLIS = 100;
+
+    private static final long MAX_RETRY_DELAY_MILLIS = 10000;
+
+    private static final ScheduledExecutorService RETRY_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("cassandra-bulk-load-retry-%d").setDaemon(true).build());
+
+    private final Session session;
+
+    private final CodecRegistry codecRegistry;
+
+    private final PreparedStatement statement;
+
+    private final int maxInFlight;
+
+    private final int maxRetries;
+
+    private final Semaphore inFlight;
+
+    private final RequestLimiter requestLimiter;
+
+    private final AtomicLong rows = new AtomicLong();
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private final AtomicLong retries = new AtomicLong();
+
+    /**
+     * Creates a loader writing through the given query.
+     *
+     * @param dataSource  Data source the writes are executed on
+     * @param query       Query with one bind variable per written value
+     * @param maxInFlight Maximum number of writes executed concurrently
+     * @param maxRetries  Maximum number of times a failed write is retried
+     */
+    BulkLoader(CassandraDataSource dataSource, String query, int maxInFlight, int maxRetries) {
+        if (maxInFlight <= 0) {
+            throw new BallerinaException("maxInFlight should be a positive number");
+        }
+        if (maxRetries < 0) {
+            throw new BallerinaException("maxRetries cannot be negative");
+        }
+        this.session = dataSource.getSession();
+        this.codecRegistry = dataSource.getCluster().getConfiguration().getCodecRegistry();
+        this.statement = dataSource.prepare(query);
+        this.maxInFlight = maxInFlight;
+        this.maxRetries = maxRetries;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.requestLimiter = dataSource.getRequestLimiter();
+    }
+
+    PreparedStatement getStatement() {
+        return statement;
+    }
+
+    long getRows() {
+        return rows.get();
+    }
+
+    long getErrors() {
+        return errors.get();
+    }
+
+    long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * Writes each line of a CSV file as a row. If the file has a header, its columns are matched to the bind
+     * variables by name, otherwise by position. Empty fields leave the bind variable unset.
+     *
+     * @param filePath  Path of the file
+     * @param delimiter Field delimiter
+     * @param header    Whether the first line of the file names the columns
+     */
+    void loadCsv(String filePath, char delimiter, boolean header) {
+        ColumnDefinitions variables = statement.getVariables();
+        int variableCount = variables.size();
+        try (BufferedReader reader = openFile(filePath)) {
+            int[] columns = new int[variableCount];
+            for (int i = 0; i < variableCount; i++) {
+                columns[i] = i;
+            }
+            if (header) {
+                String headerLine = reader.readLine();
+                if (headerLine == null) {
+                    return;
+                }
+                columns = mapColumns(variables, parseCsvRecord(headerLine, reader, delimiter));
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                BoundStatement boundStmt;
+                try {
+                    List<String> fields = parseCsvRecord(line, reader, delimiter);
+                    boundStmt = statement.bind();
+                    for (int i = 0; i < variableCount; i++) {
+                        int column = columns[i];
+                        if (column >= fields.size()) {
+                            throw new BallerinaException("missing value for column \"" + variables.getName(i) + "\"");
+                        }
+                        String field = fields.get(column);
+                        if (!field.isEmpty()) {
+                            bind(boundStmt, i, CqlValueConverter.fromString(field, variables.getType(i)));
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+                write(boundStmt);
+            }
+        } catch (IOException e) {
+            throw new BallerinaException("error occurred while reading \"" + filePath + "\": " + e.getMessage(), e);
+        } finally {
+            awaitWrites();
+        }
+    }
+
+    /**
+     * Writes each line of a newline delimited JSON file as a row. The fields of each JSON object are matched to the
+     * bind variables by name. Absent and null fields leave the bind variable unset.
+     *
+     * @param filePath Path of the file
+     */
+    void loadJson(String filePath) {
+        ColumnDefinitions variables = statement.getVariables();
+        int variableCount = variables.size();
+        Map<String, Integer> variableIndexes = new HashMap<>(variableCount * 2);
+        for (int i = 0; i < variableCount; i++) {
+            variableIndexes.put(variables.getName(i), i);
+        }
+        try (BufferedReader reader = openFile(filePath)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                BoundStatement boundStmt;
+                try {
+                    Object record = JSONParser.parse(line);
+                    if (!(record instanceof MapValue)) {
+                        throw new BallerinaException("expected a JSON object");
+                    }
+                    boundStmt = statement.bind();
+                    for (Map.Entry<?, ?> field : ((MapValue<?, ?>) record).entrySet()) {
+                        Integer index = variableIndexes.get(field.getKey().toString());
+                        if (index != null && field.getValue() != null) {
+                            bind(boundStmt, index, CqlValueConverter.toDriverValue(field.getValue(),
+                                    variables.getType(index)));
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+                write(boundStmt);
+            }
+        } catch (IOException e) {
+            throw new BallerinaException("error occurred while reading \"" + filePath + "\": " + e.getMessage(), e);
+        } finally {
+            awaitWrites();
+        }
+    }
+
+    private static BufferedReader openFile(String filePath) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1),
+                READ_BUFFER_SIZE);
+    }
+
+    private void bind(BoundStatement boundStmt, int index, Object value) {
+        TypeCodec<Object> codec = codecRegistry.codecFor(boundStmt.preparedStatement().getVariables().getType(index),
+                value);
+        boundStmt.set(index, value, codec);
+    }
+
+    /**
+     * Blocks while the maximum number of writes are in flight, then executes the given write. Each write also holds
+     * a permit of the request limiter of the client, if requests are limited, which it waits for instead of being
+     * rejected.
+     */
+    private void write(BoundStatement boundStmt) {
+        inFlight.acquireUninterruptibly();
+        if (requestLimiter != null) {
+            requestLimiter.acquireUninterruptibly();
+        }
+        execute(boundStmt, 0);
+    }
+
+    /**
+     * Executes an attempt of a write. The permit of the write is released once it succeeds or finally fails, which
+     * includes failing to be submitted, e.g. as a bind variable is unset under a protocol version which requires all
+     * variables to be set.
+     */
+    private void execute(BoundStatement boundStmt, int attempt) {
+        ListenableFuture<ResultSet> result;
+        try {
+            result = session.executeAsync(boundStmt);
+        } catch (RuntimeException e) {
+            fail();
+            return;
+        }
+        Futures.addCallback(result, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet resultSet) {
+                rows.incrementAndGet();
+                complete();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (attempt < maxRetries && !(t instanceof QueryValidationException)) {
+                    retry(boundStmt, attempt + 1);
+                } else {
+                    fail();
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Schedules the given attempt of a write after a delay which doubles with each attempt.
+     */
+    private void retry(BoundStatement boundStmt, int attempt) {
+        long delayMillis = Math.min(BASE_RETRY_DELAY_MILLIS << Math.min(attempt - 1, 16), MAX_RETRY_DELAY_MILLIS);
+        try {
+            RETRY_SCHEDULER.schedule(() -> execute(boundStmt, attempt), delayMillis, TimeUnit.MILLISECONDS);
+            retries.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            fail();
+        }
+    }
+
+    private void fail() {
+        errors.incrementAndGet();
+        complete();
+    }
+
+    private void complete() {
+        if (requestLimiter != null) {
+            requestLimiter.release();
+        }
+        inFlight.release();
+    }
+
+    /**
+     * Waits until all writes issued so far have completed.
+     */
+    private void awaitWrites() {
+        inFlight.acquireUninterruptibly(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    private static int[] mapColumns(ColumnDefinitions variables, List<String> headers) {
+        int variableCount = variables.size();
+        int[] columns = new int[variableCount];
+        for (int i = 0; i < variableCount; i++) {
+            String name = variables.getName(i);
+            columns[i] = -1;
+            for (int j = 0; j < headers.size(); j++) {
+                if (headers.get(j).trim().equalsIgnoreCase(name)) {
+                    columns[i] = j;
+                    break;
+                }
+            }
+            if (columns[i] == -1) {
+                throw new BallerinaException("column \"" + name + "\" of the query is not present in the file header");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Splits a CSV record into its fields. Fields may be enclosed in double quotes, in which case they may contain
+     * delimiters, escaped double quotes and line breaks, reading further lines from the reader as needed.
+     */
+    private static List<String> parseCsvRecord(String line, BufferedReader reader, char delimiter)
+            throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        String current = line;
+        int i = 0;
+        while (true) {
+            if (i == current.length()) {
+                if (!quoted) {
+                    break;
+                }
+                current = reader.readLine();
+                if (current == null) {
+                    throw new BallerinaException("unterminated quoted field");
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = current.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < current.length() && current.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -18,16 +18,28 @@
 
 package org.ballerinalang.cassandra.actions;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.ballerinalang.cassandra.CassandraDataIterator;
 import org.ballerinalang.cassandra.CassandraDataSource;
+import org.ballerinalang.cassandra.CassandraDataSourceRegistry;
 import org.ballerinalang.cassandra.Constants;
+import org.ballerinalang.cassandra.RequestRejectedException;
+import org.ballerinalang.cassandra.StatementOptions;
 import org.ballerinalang.jvm.BallerinaErrors;
 import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.scheduling.Scheduler;
 import org.ballerinalang.jvm.util.exceptions.BallerinaConnectorException;
 import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ErrorValue;
 import org.ballerinalang.jvm.values.MapValue;
 import org.ballerinalang.jvm.values.ObjectValue;
 import org.ballerinalang.jvm.values.TypedescValue;
 import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.jvm.values.connector.NonBlockingCallback;
+
+import java.util.function.Function;
 
 /**
  * Util class for Cassandra client action handling.
@@ -41,14 +53,27 @@ public class ExternAction {
         int port = Math.toIntExact(clientConfig.getIntValue(Constants.EndpointConfig.PORT));
         String username = clientConfig.getStringValue(Constants.EndpointConfig.USERNAME).getValue();
         String password = clientConfig.getStringValue(Constants.EndpointConfig.PASSWORD).getValue();
+        String keyspace = clientConfig.getStringValue(Constants.EndpointConfig.KEYSPACE).getValue();
         MapValue options = clientConfig.getMapValue(Constants.EndpointConfig.OPTIONS);
-        CassandraDataSource dataSource = new CassandraDataSource();
-        dataSource.init(host, port, username, password, options);
+        // Clients with identical configurations share a data source, and thereby the connections to the cluster
+        CassandraDataSource dataSource = CassandraDataSourceRegistry.acquire(host, port, username, password, keyspace,
+                options);
+        try {
+            ActionUtil.warmUp(dataSource, clientConfig.getMapValue(Constants.EndpointConfig.WARM_UP));
+        } catch (RuntimeException e) {
+            ActionUtil.close(dataSource);
+            throw e;
+        }
         cassandraClient.addNativeData(Constants.CLIENT, dataSource);
     }
 
     public static void close(ObjectValue cassandraClient) {
         CassandraDataSource dataSource = (CassandraDataSource) cassandraClient.getNativeData(Constants.CLIENT);
+        if (dataSource == null) {
+            // The client has already been stopped, releasing its data source again would close it for other clients
+            return;
+        }
+        cassandraClient.addNativeData(Constants.CLIENT, null);
         try {
             ActionUtil.close(dataSource);
         } catch (Throwable e) {
@@ -58,27 +83,274 @@ public class ExternAction {
 
     public static Object query(ObjectValue cassandraClient, BString queryString, TypedescValue recordType,
                                 ArrayValue parameters) {
+        return executeQuery(cassandraClient, null, queryString, recordType, parameters);
+    }
+
+    public static Object queryWithOptions(ObjectValue cassandraClient, MapValue<BString, Object> options,
+                                          BString queryString, TypedescValue recordType, ArrayValue parameters) {
+        return executeQuery(cassandraClient, options, queryString, recordType, parameters);
+    }
+
+    private static Object executeQuery(ObjectValue cassandraClient, MapValue<BString, Object> options,
+                                       BString queryString, TypedescValue recordType, ArrayValue parameters) {
+        CassandraDataSource dataSource = (CassandraDataSource) cassandraClient.getNativeData(Constants.CLIENT);
+        if (dataSource.isAsyncExecution()) {
+            NonBlockingCallback callback = new NonBlockingCallback(Scheduler.getStrand());
+            try {
+                completeAsync(callback, ActionUtil.executeSelectAsync(dataSource, queryString.getValue(), parameters,
+                        recordType, StatementOptions.fromConfig(options)), table -> table,
+                        ExternAction::createSelectError);
+            } catch (Throwable e) {
+                complete(callback, createSelectError(e));
+            }
+            return null;
+        }
+        try {
+            return ActionUtil.executeSelect(dataSource, queryString.getValue(), parameters, recordType,
+                    StatementOptions.fromConfig(options));
+        } catch (Throwable e) {
+            return createSelectError(e);
+        }
+    }
+
+    public static Object queryPage(ObjectValue cassandraClient, MapValue<BString, Object> pageRequest,
+                                   BString queryString, TypedescValue recordType, ArrayValue parameters) {
+        return executeQueryPage(cassandraClient, null, pageRequest, queryString, recordType, parameters);
+    }
+
+    public static Object queryPageWithOptions(ObjectValue cassandraClient, MapValue<BString, Object> options,
+                                              MapValue<BString, Object> pageRequest, BString queryString,
+                                              TypedescValue recordType, ArrayValue parameters) {
+        return executeQueryPage(cassandraClient, options, pageRequest, queryString, recordType, parameters);
+    }
+
+    private static Object executeQueryPage(ObjectValue cassandraClient, MapValue<BString, Object> options,
+                                           MapValue<BString, Object> pageRequest, BString queryString,
+                                           TypedescValue recordType, ArrayValue parameters) {
         CassandraDataSource dataSource = (CassandraDataSource) cassandraClient.getNativeData(Constants.CLIENT);
+        if (dataSource.isAsyncExecution()) {
+            NonBlockingCallback callback = new NonBlockingCallback(Scheduler.getStrand());
+            try {
+                completeAsync(callback, ActionUtil.executeSelectPageAsync(dataSource, queryString.getValue(),
+                        parameters, recordType, pageRequest, StatementOptions.fromConfig(options)), page -> page,
+                        ExternAction::createSelectError);
+            } catch (Throwable e) {
+                complete(callback, createSelectError(e));
+            }
+            return null;
+        }
         try {
-            return ActionUtil.executeSelect(dataSource, queryString.getValue(), parameters, recordType);
+            return ActionUtil.executeSelectPage(dataSource, queryString.getValue(), parameters, recordType,
+                    pageRequest, StatementOptions.fromConfig(options));
         } catch (Throwable e) {
-            return BallerinaErrors.createError(
-                    StringUtils.fromString("Error occurred while executing the select statement: "
-                            + e.getMessage()));
+            return createSelectError(e);
+        }
+    }
+
+    public static Object queryStream(ObjectValue cassandraClient, ObjectValue resultIterator, BString queryString,
+                                     TypedescValue recordType, ArrayValue parameters) {
+        CassandraDataSource dataSource = (CassandraDataSource) cassandraClient.getNativeData(Constants.CLIENT);
+        try {
+            CassandraDataIterator dataIterator = ActionUtil.executeSelectStream(dataSource, queryString.getValue(),
+                    parameters, recordType);
+            resultIterator.addNativeData(Constants.RESULT_ITERATOR, dataIterator);
+            resultIterator.addNativeData(Constants.CLIENT, dataSource);
+            return null;
+        } catch (Throwable e) {
+            return createSelectError(e);
+        }
+    }
+
+    public static Object scanTable(ObjectValue cassandraClient, ObjectValue resultIterator, BString keyspace,
+                                   BString tableName, TypedescValue recordType, MapValue<BString, Object> options) {
+        CassandraDataSource dataSource = (CassandraDataSource) cassandraClient.getNativeData(Constants.CLIENT);
+        try {
+            CassandraDataIterator dataIterator = ActionUtil.executeScan(dataSource, keyspace.getValue(),
+                    tableName.getValue(), recordType, options);
+            resultIterator.addNativeData(Constants.RESULT_ITERATOR, dataIterator);
+            resultIterator.addNativeData(Constants.CLIENT, dataSource);
+            return null;
+        } catch (Throwable e) {
+            return createSelectError(e);
+        }
+    }
+
+    public static Object nextResult(ObjectValue resultIterator) {
+        CassandraDataIterator dataIterator =
+                (CassandraDataIterator) resultIterator.getNativeData(Constants.RESULT_ITERATOR);
+        CassandraDataSource dataSource = (CassandraDataSource) resultIterator.getNativeData(Constants.CLIENT);
+        try {
+            return ActionUtil.getNextRecord(dataSource, dataIterator);
+        } catch (Throwable e) {
+            return createSelectError(e);
+        }
+    }
+
+    public static Object closeResult(ObjectValue resultIterator) {
+        CassandraDataIterator dataIterator =
+                (CassandraDataIterator) resultIterator.getNativeData(Constants.RESULT_ITERATOR);
+        try {
+            if (dataIterator != null) {
+                dataIterator.close();
+            }
+            return null;
+        } catch (Throwable e) {
+            return createSelectError(e);
         }
     }
 
     public static Object update(ObjectValue cassandraClient, BString queryString, ArrayValue parameters) {
+        return executeUpdate(cassandraClient, null, queryString, parameters);
+    }
+
+    public static Object updateWithOptions(ObjectValue cassandraClient, MapValue<BString, Object> options,
+                                           BString queryString, ArrayValue parameters) {
+        return executeUpdate(cassandraClient, options, queryString, parameters);
+    }
+
+    private static Object executeUpdate(ObjectValue cassandraClient, MapValue<BString, Object> options,
+                                        BString queryString, ArrayValue parameters) {
+        CassandraDataSource dataSource = (CassandraDataSource) cassandraClient.getNativeData(Constants.CLIENT);
+        if (dataSource.isAsyncExecution()) {
+            NonBlockingCallback callback = new NonBlockingCallback(Scheduler.getStrand());
+            try {
+                completeAsync(callback, ActionUtil.executeUpdateAsync(dataSource, queryString.getValue(), parameters,
+                        StatementOptions.fromConfig(options)), rs -> null, ExternAction::createUpdateError);
+            } catch (Throwable e) {
+                complete(callback, createUpdateError(e));
+            }
+            return null;
+        }
+        try {
+            ActionUtil.executeUpdate(dataSource, queryString.getValue(), parameters,
+                    StatementOptions.fromConfig(options));
+            return null;
+        } catch (Throwable e) {
+            return createUpdateError(e);
+        }
+    }
+
+    public static Object batchUpdate(ObjectValue cassandraClient, ArrayValue statements, BString batchType) {
+        CassandraDataSource dataSource = (CassandraDataSource) cassandraClient.getNativeData(Constants.CLIENT);
+        if (dataSource.isAsyncExecution()) {
+            NonBlockingCallback callback = new NonBlockingCallback(Scheduler.getStrand());
+            try {
+                completeAsync(callback, ActionUtil.executeBatchUpdateAsync(dataSource, statements,
+                        batchType.getValue()), rs -> null, ExternAction::createBatchUpdateError);
+            } catch (Throwable e) {
+                complete(callback, createBatchUpdateError(e));
+            }
+            return null;
+        }
+        try {
+            ActionUtil.executeBatchUpdate(dataSource, statements, batchType.getValue());
+            return null;
+        } catch (Throwable e) {
+            return createBatchUpdateError(e);
+        }
+    }
+
+    public static Object bulkUpdate(ObjectValue cassandraClient, ArrayValue statements, BString grouping,
+                                    long maxBatchSize) {
         CassandraDataSource dataSource = (CassandraDataSource) cassandraClient.getNativeData(Constants.CLIENT);
+        if (dataSource.isAsyncExecution()) {
+            NonBlockingCallback callback = new NonBlockingCallback(Scheduler.getStrand());
+            try {
+                completeAsync(callback, ActionUtil.executeBulkUpdateAsync(dataSource, statements,
+                        grouping.getValue(), maxBatchSize), results -> null, ExternAction::createBulkUpdateError);
+            } catch (Throwable e) {
+                complete(callback, createBulkUpdateError(e));
+            }
+            return null;
+        }
         try {
-            ActionUtil.executeUpdate(dataSource, queryString.getValue(), parameters);
+            ActionUtil.executeBulkUpdate(dataSource, statements, grouping.getValue(), maxBatchSize);
             return null;
         } catch (Throwable e) {
-            return BallerinaErrors.createError(Constants.DATABASE_ERROR_CODE,
-                    "Error occurred while executing the update statement: " + e.getMessage());
+            return createBulkUpdateError(e);
         }
     }
 
+    public static Object bulkLoad(ObjectValue cassandraClient, BString filePath, BString queryString,
+                                  MapValue<BString, Object> options) {
+        CassandraDataSource dataSource = (CassandraDataSource) cassandraClient.getNativeData(Constants.CLIENT);
+        try {
+            return ActionUtil.executeBulkLoad(dataSource, filePath.getValue(), queryString.getValue(), options);
+        } catch (Throwable e) {
+            return createBulkLoadError(e);
+        }
+    }
+
+    public static Object getMetrics(ObjectValue cassandraClient) {
+        CassandraDataSource dataSource = (CassandraDataSource) cassandraClient.getNativeData(Constants.CLIENT);
+        return ActionUtil.getMetrics(dataSource);
+    }
+
+    private static ErrorValue createSelectError(Throwable e) {
+        if (e instanceof RequestRejectedException) {
+            return createRequestRejectedError(e);
+        }
+        return BallerinaErrors.createError(
+                StringUtils.fromString("Error occurred while executing the select statement: " + e.getMessage()));
+    }
+
+    private static ErrorValue createUpdateError(Throwable e) {
+        return createDatabaseError("Error occurred while executing the update statement: ", e);
+    }
+
+    private static ErrorValue createBatchUpdateError(Throwable e) {
+        return createDatabaseError("Error occurred while executing the batch update: ", e);
+    }
+
+    private static ErrorValue createBulkUpdateError(Throwable e) {
+        return createDatabaseError("Error occurred while executing the bulk update: ", e);
+    }
+
+    private static ErrorValue createBulkLoadError(Throwable e) {
+        return createDatabaseError("Error occurred while executing the bulk load: ", e);
+    }
+
+    private static ErrorValue createDatabaseError(String message, Throwable e) {
+        if (e instanceof RequestRejectedException) {
+            return createRequestRejectedError(e);
+        }
+        return BallerinaErrors.createError(Constants.DATABASE_ERROR_CODE, message + e.getMessage());
+    }
+
+    private static ErrorValue createRequestRejectedError(Throwable e) {
+        return BallerinaErrors.createError(Constants.REQUEST_REJECTED_ERROR_CODE, e.getMessage());
+    }
+
+    /**
+     * Resumes the strand waiting on the callback once the future completes, with either the mapped result or the
+     * mapped error as the return value of the remote function.
+     */
+    private static <T> void completeAsync(NonBlockingCallback callback, ListenableFuture<T> future,
+                                          Function<T, Object> onSuccess, Function<Throwable, ErrorValue> onFailure) {
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                Object returnValue;
+                try {
+                    returnValue = onSuccess.apply(result);
+                } catch (Throwable e) {
+                    returnValue = onFailure.apply(e);
+                }
+                complete(callback, returnValue);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                complete(callback, onFailure.apply(t));
+            }
+        });
+    }
+
+    private static void complete(NonBlockingCallback callback, Object returnValue) {
+        callback.setReturnValues(returnValue);
+        callback.notifySuccess();
+    }
+
     private ExternAction() {
     }
 }
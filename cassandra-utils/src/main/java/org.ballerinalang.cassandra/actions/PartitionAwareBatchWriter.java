@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra.actions;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ColumnMetadata;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TableMetadata;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import org.ballerinalang.cassandra.CassandraDataSource;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits a large set of writes into unlogged batches which each target a single partition, or a single set of
+ * replicas, and executes the batches in parallel. This keeps the benefit of batching while sparing the coordinator
+ * from fanning a multi-partition batch out to unrelated replicas. At most {@link #MAX_IN_FLIGHT_BATCHES} batches are
+ * in flight at a time, so that a large write does not exhaust the connection pools of the hosts.
+ * <p>
+ * Writes to counter tables cannot share a batch with other writes, so they are grouped apart and sent as counter
+ * batches. Groups larger than the maximum batch size are split, as the server rejects batches above its
+ * {@code batch_size_fail_threshold_in_kb}, and a batch cannot hold more than {@link #MAX_BATCH_SIZE} statements.
+ *
+ * @since 0.99.0
+ */
+class PartitionAwareBatchWriter {
+
+    static final int MAX_IN_FLIGHT_BATCHES = 32;
+
+    static final int MAX_BATCH_SIZE = 0xFFFF;
+
+    /**
+     * Writes the given statements, grouped according to the given grouping.
+     *
+     * @param dataSource   Data source the statements are executed on
+     * @param statements   Bound statements to be written
+     * @param grouping     Decides which statements end up in the same batch
+     * @param maxBatchSize Maximum number of statements in a batch
+     * @return Future which completes once all batches have been written, or fails with the error of the first batch
+     * which could not be written, in which case no further batches are started
+     */
+    static ListenableFuture<List<ResultSet>> write(CassandraDataSource dataSource, List<BoundStatement> statements,
+                                                   Grouping grouping, int maxBatchSize) {
+        List<Statement> batches = new ArrayList<>();
+        for (List<BoundStatement> group : groupStatements(dataSource, statements, grouping)) {
+            BatchStatement.Type type = isCounterWrite(dataSource.getCluster().getMetadata(), group.get(0)) ?
+                    BatchStatement.Type.COUNTER : BatchStatement.Type.UNLOGGED;
+            for (int start = 0; start < group.size(); start += maxBatchSize) {
+                List<BoundStatement> chunk = group.subList(start, Math.min(start + maxBatchSize, group.size()));
+                if (chunk.size() == 1) {
+                    batches.add(chunk.get(0));
+                } else {
+                    BatchStatement batch = new BatchStatement(type);
+                    batch.addAll(chunk);
+                    batches.add(batch);
+                }
+            }
+        }
+        return new BatchWindow(dataSource, batches).start(MAX_IN_FLIGHT_BATCHES);
+    }
+
+    private static Collection<List<BoundStatement>> groupStatements(CassandraDataSource dataSource,
+                                                                    List<BoundStatement> statements,
+                                                                    Grouping grouping) {
+        Cluster cluster = dataSource.getCluster();
+        Metadata metadata = cluster.getMetadata();
+        ProtocolVersion protocolVersion = cluster.getConfiguration().getProtocolOptions().getProtocolVersion();
+        CodecRegistry codecRegistry = cluster.getConfiguration().getCodecRegistry();
+        String loggedKeyspace = dataSource.getSession().getLoggedKeyspace();
+
+        Map<Object, List<BoundStatement>> groups = new LinkedHashMap<>();
+        List<List<BoundStatement>> ungrouped = new ArrayList<>();
+        for (BoundStatement statement : statements) {
+            ByteBuffer routingKey = statement.getRoutingKey(protocolVersion, codecRegistry);
+            String keyspace = statement.getKeyspace() != null ? statement.getKeyspace() : loggedKeyspace;
+            if (routingKey == null || keyspace == null) {
+                // Statements whose partition cannot be determined are written on their own.
+                ungrouped.add(new ArrayList<>(Arrays.asList(statement)));
+                continue;
+            }
+            Object groupKey;
+            if (grouping == Grouping.REPLICA_SET) {
+                groupKey = metadata.getReplicas(Metadata.quote(keyspace), routingKey);
+            } else {
+                groupKey = Arrays.asList(keyspace, routingKey);
+            }
+            // Counter and regular writes cannot be mixed in a batch.
+            groupKey = Arrays.asList(isCounterWrite(metadata, statement), groupKey);
+            groups.computeIfAbsent(groupKey, key -> new ArrayList<>()).add(statement);
+        }
+        List<List<BoundStatement>> result = new ArrayList<>(groups.values());
+        result.addAll(ungrouped);
+        return result;
+    }
+
+    /**
+     * Checks whether the statement writes to a counter table. All regular columns of such a table are counters, so
+     * any of its writes must be sent in a counter batch.
+     */
+    private static boolean isCounterWrite(Metadata metadata, BoundStatement statement) {
+        ColumnDefinitions variables = statement.preparedStatement().getVariables();
+        if (variables.size() == 0) {
+            return false;
+        }
+        KeyspaceMetadata keyspace = metadata.getKeyspace(Metadata.quote(variables.getKeyspace(0)));
+        TableMetadata table = keyspace != null ? keyspace.getTable(Metadata.quote(variables.getTable(0))) : null;
+        if (table == null) {
+            return false;
+        }
+        for (ColumnMetadata column : table.getColumns()) {
+            if (column.getType().getName() == DataType.Name.COUNTER) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Grouping retrieveGrouping(String grouping) {
+        try {
+            return Grouping.valueOf(grouping);
+        } catch (IllegalArgumentException e) {
+            throw new BallerinaException("\"" + grouping + "\" is not a valid bulk update grouping");
+        }
+    }
+
+    static int retrieveMaxBatchSize(long maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new BallerinaException("maxBatchSize should be a positive number");
+        }
+        if (maxBatchSize > MAX_BATCH_SIZE) {
+            throw new BallerinaException("maxBatchSize cannot exceed " + MAX_BATCH_SIZE);
+        }
+        return (int) maxBatchSize;
+    }
+
+    /**
+     * Executes batches with a bounded number of them in flight. Each completed batch starts the next one, so the
+     * window is refilled from the driver threads without blocking the caller.
+     */
+    private static final class BatchWindow {
+
+        private final CassandraDataSource dataSource;
+
+        private final List<Statement> batches;
+
+        private final ResultSet[] results;
+
+        private final AtomicInteger nextBatch = new AtomicInteger();
+
+        private final AtomicInteger remainingBatches;
+
+        private final SettableFuture<List<ResultSet>> result = SettableFuture.create();
+
+        private BatchWindow(CassandraDataSource dataSource, List<Statement> batches) {
+            this.dataSource = dataSource;
+            this.batches = batches;
+            this.results = new ResultSet[batches.size()];
+            this.remainingBatches = new AtomicInteger(batches.size());
+        }
+
+        private ListenableFuture<List<ResultSet>> start(int maxInFlight) {
+            if (batches.isEmpty()) {
+                result.set(Collections.emptyList());
+                return result;
+            }
+            for (int i = 0; i < Math.min(maxInFlight, batches.size()); i++) {
+                executeNext();
+            }
+            return result;
+        }
+
+        private void executeNext() {
+            int index = nextBatch.getAndIncrement();
+            if (index >= batches.size() || result.isDone()) {
+                return;
+            }
+            ListenableFuture<ResultSet> future;
+            try {
+                future = ActionUtil.executeAsync(dataSource, batches.get(index));
+            } catch (RuntimeException e) {
+                result.setException(e);
+                return;
+            }
+            Futures.addCallback(future, new FutureCallback<ResultSet>() {
+                @Override
+                public void onSuccess(ResultSet resultSet) {
+                    results[index] = resultSet;
+                    if (remainingBatches.decrementAndGet() == 0) {
+                        result.set(Arrays.asList(results));
+                    } else {
+                        executeNext();
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    result.setException(t);
+                }
+            }, MoreExecutors.directExecutor());
+        }
+    }
+
+    /**
+     * Decides which statements are written together in a batch.
+     */
+    enum Grouping {
+        // statements targeting the same partition
+        PARTITION,
+        // statements whose partitions are owned by the same set of replicas
+        REPLICA_SET
+    }
+}
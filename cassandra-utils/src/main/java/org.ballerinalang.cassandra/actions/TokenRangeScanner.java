@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.cassandra.actions;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnMetadata;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.Token;
+import com.datastax.driver.core.TokenRange;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.ballerinalang.cassandra.CassandraDataIterator;
+import org.ballerinalang.cassandra.CassandraDataSource;
+import org.ballerinalang.cassandra.RequestLimiter;
+import org.ballerinalang.cassandra.RowMapper;
+import org.ballerinalang.jvm.types.BStructureType;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads all rows of a table by splitting the token ring into ranges and querying a number of ranges concurrently.
+ * Each range query carries a routing key which falls into its range, so the token-aware load balancing policy sends
+ * it to one of the replicas of the range instead of having a single coordinator gather the whole table.
+ * <p>
+ * The rows of all ranges are merged into this iterator in no particular order. A range only fetches its next page
+ * once its current page has been consumed, so at most one page per concurrently scanned range is buffered.
+ * <p>
+ * Each running range holds a permit of the request limiter of the client, if requests are limited. The scan waits
+ * for the permit of its first range as a synchronous request does, and only starts further concurrent ranges for
+ * which a permit is available right away.
+ *
+ * @since 0.99.0
+ */
+class TokenRangeScanner extends CassandraDataIterator {
+
+    private static final int ROUTING_KEY_ATTEMPTS_PER_RANGE = 64;
+
+    /**
+     * A page is given up on once this many read timeouts have passed without it being received, which leaves room
+     * for the retries and speculative executions of the driver.
+     */
+    private static final int PAGE_TIMEOUT_READ_TIMEOUTS = 4;
+
+    private final RangeQueries rangeQueries;
+
+    private ResultSet page;
+
+    private TokenRangeScanner(RowMapper rowMapper, RangeQueries rangeQueries, ResultSet firstPage) {
+        super(rowMapper);
+        this.rangeQueries = rangeQueries;
+        this.page = firstPage;
+    }
+
+    /**
+     * Starts scanning the given table. Returns once the first page of one of the ranges has been received, so that
+     * an invalid scan fails right away.
+     *
+     * @param dataSource       Data source the scan is executed on
+     * @param keyspace         Keyspace of the table
+     * @param table            Table to be scanned
+     * @param columns          Columns to be selected, all columns if empty
+     * @param structType       Record type the rows are mapped to
+     * @param concurrency      Maximum number of ranges scanned concurrently
+     * @param splitsPerRange   Number of ranges each token range of the ring is split into
+     * @param fetchSize        Page size of the range queries, or -1 for the default of the client
+     * @param consistencyLevel Consistency level of the range queries, or {@code null} for the default of the client
+     * @return Iterator over the rows of the table
+     */
+    static TokenRangeScanner scan(CassandraDataSource dataSource, String keyspace, String table,
+                                  List<String> columns, BStructureType structType, int concurrency,
+                                  int splitsPerRange, int fetchSize, ConsistencyLevel consistencyLevel) {
+        if (concurrency <= 0) {
+            throw new BallerinaException("concurrency should be a positive number");
+        }
+        if (splitsPerRange <= 0) {
+            throw new BallerinaException("splitsPerTokenRange should be a positive number");
+        }
+        if (fetchSize == 0 || fetchSize < -1) {
+            throw new BallerinaException("fetchSize should be a positive number");
+        }
+        Deque<Statement> statements = createStatements(dataSource, keyspace, table, columns, splitsPerRange);
+        for (Statement statement : statements) {
+            statement.setIdempotent(true);
+            if (fetchSize != -1) {
+                statement.setFetchSize(fetchSize);
+            }
+            if (consistencyLevel != null) {
+                statement.setConsistencyLevel(consistencyLevel);
+            }
+        }
+
+        RangeQueries rangeQueries = new RangeQueries(dataSource, statements);
+        rangeQueries.startRanges(concurrency);
+        ResultSet firstPage;
+        try {
+            firstPage = rangeQueries.takePage();
+        } catch (RuntimeException e) {
+            rangeQueries.close();
+            throw e;
+        }
+        return new TokenRangeScanner(dataSource.getRowMapper(firstPage.getColumnDefinitions(), structType),
+                rangeQueries, firstPage);
+    }
+
+    @Override
+    public boolean next() {
+        while (true) {
+            if (page != null) {
+                if (page.getAvailableWithoutFetching() > 0) {
+                    setCurrentRow(page.one());
+                    return true;
+                }
+                rangeQueries.pageConsumed(page);
+                page = null;
+            }
+            if (!rangeQueries.hasRunningRanges()) {
+                close();
+                return false;
+            }
+            page = rangeQueries.takePage();
+        }
+    }
+
+    /**
+     * Stops the scan. Ranges which have not been started yet are dropped, and pages still received for the running
+     * ranges are discarded.
+     */
+    @Override
+    public void close() {
+        page = null;
+        rangeQueries.close();
+        super.close();
+    }
+
+    /**
+     * Creates one statement per token range. If the token ranges of the ring are not known, the table is read through
+     * a single unrestricted query.
+     */
+    private static Deque<Statement> createStatements(CassandraDataSource dataSource, String keyspace, String table,
+                                                     List<String> columns, int splitsPerRange) {
+        Metadata metadata = dataSource.getCluster().getMetadata();
+        KeyspaceMetadata keyspaceMetadata = metadata.getKeyspace(keyspace);
+        TableMetadata tableMetadata = keyspaceMetadata != null ? keyspaceMetadata.getTable(table) : null;
+        if (tableMetadata == null) {
+            throw new BallerinaException("\"" + keyspace + "." + table + "\" is not a valid table");
+        }
+        StringBuilder partitionKey = new StringBuilder();
+        for (ColumnMetadata column : tableMetadata.getPartitionKey()) {
+            if (partitionKey.length() > 0) {
+                partitionKey.append(", ");
+            }
+            partitionKey.append(Metadata.quote(column.getName()));
+        }
+        String select = "SELECT " + (columns.isEmpty() ? "*" : String.join(", ", columns)) + " FROM "
+                + Metadata.quote(keyspaceMetadata.getName()) + "." + Metadata.quote(tableMetadata.getName());
+        String token = "token(" + partitionKey + ")";
+
+        List<TokenRange> ranges = new ArrayList<>();
+        for (TokenRange range : metadata.getTokenRanges()) {
+            List<TokenRange> splits = splitsPerRange > 1 ? range.splitEvenly(splitsPerRange)
+                    : Collections.singletonList(range);
+            for (TokenRange split : splits) {
+                if (!split.isEmpty()) {
+                    ranges.addAll(split.unwrap());
+                }
+            }
+        }
+        Deque<Statement> statements = new ArrayDeque<>();
+        if (ranges.isEmpty()) {
+            statements.add(dataSource.prepare(select).bind());
+            return statements;
+        }
+
+        PreparedStatement rangeQuery = dataSource.prepare(select + " WHERE " + token + " > ? AND " + token + " <= ?");
+        PreparedStatement tailQuery = dataSource.prepare(select + " WHERE " + token + " > ?");
+        ByteBuffer[] routingKeys = findRoutingKeys(metadata, ranges);
+        for (int i = 0; i < ranges.size(); i++) {
+            TokenRange range = ranges.get(i);
+            BoundStatement statement;
+            if (isTail(range)) {
+                // The range ends at the minimum token, i.e. it covers all tokens after its start.
+                statement = tailQuery.bind();
+                statement.setToken(0, range.getStart());
+            } else {
+                statement = rangeQuery.bind();
+                statement.setToken(0, range.getStart());
+                statement.setToken(1, range.getEnd());
+            }
+            if (routingKeys[i] != null) {
+                statement.setRoutingKey(routingKeys[i]);
+            }
+            statements.add(statement);
+        }
+        return statements;
+    }
+
+    /**
+     * Once unwrapped, only a range which ends at the minimum token does not end after its start.
+     */
+    private static boolean isTail(TokenRange range) {
+        return range.getEnd().compareTo(range.getStart()) <= 0;
+    }
+
+    /**
+     * Finds a routing key for each of the given ranges whose token falls into the range, so that the range query
+     * is routed to a replica of the range. As tokens are hashes of the partition keys, candidate keys are hashed
+     * until every range has a key or the attempts run out, in which case the remaining ranges are routed by the
+     * load balancing policy without a routing key.
+     */
+    private static ByteBuffer[] findRoutingKeys(Metadata metadata, List<TokenRange> ranges) {
+        TreeMap<Token, Integer> rangesByEnd = new TreeMap<>();
+        Integer tail = null;
+        for (int i = 0; i < ranges.size(); i++) {
+            if (isTail(ranges.get(i))) {
+                tail = i;
+            } else {
+                rangesByEnd.put(ranges.get(i).getEnd(), i);
+            }
+        }
+        ByteBuffer[] routingKeys = new ByteBuffer[ranges.size()];
+        int found = 0;
+        long maxAttempts = (long) ranges.size() * ROUTING_KEY_ATTEMPTS_PER_RANGE;
+        for (long attempt = 0; attempt < maxAttempts && found < routingKeys.length; attempt++) {
+            ByteBuffer key = ByteBuffer.allocate(Long.BYTES);
+            key.putLong(0, attempt);
+            Token token = metadata.newToken(key);
+            Map.Entry<Token, Integer> candidate = rangesByEnd.ceilingEntry(token);
+            Integer index = candidate != null ? candidate.getValue() : tail;
+            if (index != null && routingKeys[index] == null && ranges.get(index).contains(token)) {
+                routingKeys[index] = key;
+                found++;
+            }
+        }
+        return routingKeys;
+    }
+
+    /**
+     * Range queries of a scan. Pages are handed over from the driver threads through a queue, which never holds
+     * more than one page per running range. Apart from the callbacks adding pages, it is only used by the thread
+     * consuming the scan.
+     */
+    private static final class RangeQueries {
+
+        private final CassandraDataSource dataSource;
+
+        private final RequestLimiter requestLimiter;
+
+        private final Deque<Statement> pendingRanges;
+
+        private final BlockingQueue<Object> pages = new LinkedBlockingQueue<>();
+
+        private final long pageTimeoutMillis;
+
+        private int runningRanges;
+
+        private volatile boolean closed;
+
+        private RangeQueries(CassandraDataSource dataSource, Deque<Statement> pendingRanges) {
+            this.dataSource = dataSource;
+            this.requestLimiter = dataSource.getRequestLimiter();
+            this.pendingRanges = pendingRanges;
+            this.pageTimeoutMillis = (long) PAGE_TIMEOUT_READ_TIMEOUTS
+                    * dataSource.getCluster().getConfiguration().getSocketOptions().getReadTimeoutMillis();
+        }
+
+        private boolean hasPendingRanges() {
+            return !pendingRanges.isEmpty();
+        }
+
+        private boolean hasRunningRanges() {
+            return runningRanges > 0;
+        }
+
+        /**
+         * Starts up to the given number of ranges. The first range waits for its permit, the others are only
+         * started if a permit is available right away.
+         */
+        private void startRanges(int concurrency) {
+            if (requestLimiter != null) {
+                requestLimiter.acquire();
+            }
+            startNextRange();
+            for (int i = 1; i < concurrency && hasPendingRanges(); i++) {
+                if (requestLimiter != null && !requestLimiter.tryAcquireNow()) {
+                    break;
+                }
+                startNextRange();
+            }
+        }
+
+        /**
+         * Starts the next pending range, which takes over a permit already held by the caller.
+         */
+        private void startNextRange() {
+            runningRanges++;
+            addPage(ActionUtil.executeAsync(dataSource, pendingRanges.poll()));
+        }
+
+        /**
+         * Requests the next page of the range the given page belongs to, or starts the next range if the range
+         * has been read completely, handing the permit of the range over to it.
+         */
+        private void pageConsumed(ResultSet page) {
+            if (!page.isFullyFetched()) {
+                addPage(page.fetchMoreResults());
+                return;
+            }
+            runningRanges--;
+            if (hasPendingRanges()) {
+                startNextRange();
+            } else {
+                release(1);
+            }
+        }
+
+        private void addPage(ListenableFuture<ResultSet> result) {
+            Futures.addCallback(result, new FutureCallback<ResultSet>() {
+                @Override
+                public void onSuccess(ResultSet resultSet) {
+                    if (!closed) {
+                        pages.add(resultSet);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    if (!closed) {
+                        pages.add(t);
+                    }
+                }
+            }, MoreExecutors.directExecutor());
+        }
+
+        /**
+         * Drops the pending ranges and releases the permits of the running ranges. Pages still received for the
+         * running ranges are discarded.
+         */
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pendingRanges.clear();
+            release(runningRanges);
+            runningRanges = 0;
+            pages.clear();
+        }
+
+        private void release(int permits) {
+            if (requestLimiter != null) {
+                for (int i = 0; i < permits; i++) {
+                    requestLimiter.release();
+                }
+            }
+        }
+
+        /**
+         * Waits for the next page of any running range. A failed range fails the whole scan, which is closed.
+         */
+        private ResultSet takePage() {
+            Object result;
+            try {
+                result = pageTimeoutMillis > 0 ? pages.poll(pageTimeoutMillis, TimeUnit.MILLISECONDS) : pages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new BallerinaException("interrupted while waiting for the rows of a token range");
+            }
+            if (result == null) {
+                close();
+                throw new BallerinaException("no rows of a token range received within " + pageTimeoutMillis
+                        + " milliseconds");
+            }
+            if (result instanceof Throwable) {
+                close();
+                throw new BallerinaException("error occurred while scanning a token range: "
+                        + ((Throwable) result).getMessage(), (Throwable) result);
+            }
+            return (ResultSet) result;
+        }
+    }
+}
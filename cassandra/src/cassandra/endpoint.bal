@@ -20,7 +20,8 @@ import ballerina/java;
 public type Client client object {
     private ClientConfig clientConfig;
 
-    # Gets called when the `Client` is instantiated.
+    # Gets called when the `Client` is instantiated. Clients with identical configurations share their connections
+    # to the cluster.
     #
     # + config - Client endpoint configuration
     public function init(ClientConfig config) {
@@ -39,6 +40,81 @@ public type Client client object {
         return externQuery(self, queryString, recordType, parameters);
     }
 
+    # Select data from cassandra datasource, overriding the query options of the client for this query only.
+    #
+    # + options - Execution options of the query
+    # + queryString - Query to be executed
+    # + recordType - The Type result should be mapped to
+    # + parameters - The parameters to be passed to the select query
+    # + return - `table` representing the result of the select action or `error` if an error occurs
+    public remote function queryWithOptions(StatementOptions options, string queryString,
+        typedesc<record {|any|error...;|}> recordType, Param... parameters) returns table<record {}>|error {
+        return externQueryWithOptions(self, options, queryString, recordType, parameters);
+    }
+
+    # Select a single page of data from cassandra datasource. The paging state of the returned page is passed with
+    # the request of the next page, which resumes the query where the previous page ended instead of skipping the
+    # rows of the previous pages.
+    #
+    # + page - The size of the page and the paging state it starts from
+    # + queryString - Query to be executed
+    # + recordType - The Type result should be mapped to
+    # + parameters - The parameters to be passed to the select query
+    # + return - `Page` holding the rows of the page or `error` if an error occurs
+    public remote function queryPage(PageRequest page, string queryString,
+        typedesc<record {|any|error...;|}> recordType, Param... parameters) returns Page|error {
+        return externQueryPage(self, page, queryString, recordType, parameters);
+    }
+
+    # Select a single page of data from cassandra datasource, overriding the query options of the client for this
+    # query only. The page size takes precedence over the fetch size of the options, and pages are never cached.
+    #
+    # + options - Execution options of the query
+    # + page - The size of the page and the paging state it starts from
+    # + queryString - Query to be executed
+    # + recordType - The Type result should be mapped to
+    # + parameters - The parameters to be passed to the select query
+    # + return - `Page` holding the rows of the page or `error` if an error occurs
+    public remote function queryPageWithOptions(StatementOptions options, PageRequest page, string queryString,
+        typedesc<record {|any|error...;|}> recordType, Param... parameters) returns Page|error {
+        return externQueryPageWithOptions(self, options, page, queryString, recordType, parameters);
+    }
+
+    # Select data from cassandra datasource as a stream. Only the first page of the result is fetched before
+    # returning, the remaining pages are fetched as the stream is consumed.
+    #
+    # + queryString - Query to be executed
+    # + recordType - The Type result should be mapped to
+    # + parameters - The parameters to be passed to the select query
+    # + return - `stream` of records representing the result of the select action or `error` if an error occurs
+    public remote function queryStream(string queryString, typedesc<record {|any|error...;|}> recordType,
+        Param... parameters) returns stream<record {}, error>|error {
+        ResultIterator iterator = new;
+        error? result = externQueryStream(self, iterator, queryString, recordType, parameters);
+        if (result is error) {
+            return result;
+        }
+        return new stream<record {}, error>(iterator);
+    }
+
+    # Scan all rows of a table as a stream. The token ring is split into ranges, which are read concurrently, each
+    # through one of its replicas, and the rows of all ranges are merged into the stream in no particular order.
+    #
+    # + keyspace - Keyspace of the table
+    # + tableName - Table to be scanned
+    # + recordType - The Type result should be mapped to
+    # + options - Options of the scan
+    # + return - `stream` of records representing the rows of the table or `error` if an error occurs
+    public remote function scanTable(string keyspace, string tableName, typedesc<record {|any|error...;|}> recordType,
+        ScanOptions options = {}) returns stream<record {}, error>|error {
+        ResultIterator iterator = new;
+        error? result = externScanTable(self, iterator, keyspace, tableName, recordType, options);
+        if (result is error) {
+            return result;
+        }
+        return new stream<record {}, error>(iterator);
+    }
+
     # Execute update query on cassandra datasource.
     #
     # + queryString - Query to be executed
@@ -48,6 +124,65 @@ public type Client client object {
         return externUpdate(self, queryString, parameters);
     }
 
+    # Execute update query on cassandra datasource, overriding the query options of the client for this query only.
+    #
+    # + options - Execution options of the query
+    # + queryString - Query to be executed
+    # + parameters - The parameters to be passed to the update query
+    # + return - `nil` upon success or `error` if an error occurs
+    public remote function updateWithOptions(StatementOptions options, string queryString, Param... parameters)
+        returns error? {
+        return externUpdateWithOptions(self, options, queryString, parameters);
+    }
+
+    # Execute a batch of update queries on cassandra datasource. The statements are sent to the coordinator
+    # together in a single request.
+    #
+    # + statements - The statements to be executed in the batch
+    # + batchType - The type of the batch
+    # + return - `nil` upon success or `error` if an error occurs
+    public remote function batchUpdate(BatchStatement[] statements, BatchType batchType = BATCH_LOGGED)
+        returns error? {
+        return externBatchUpdate(self, statements, batchType);
+    }
+
+    # Execute a large set of update queries on cassandra datasource. The statements are grouped by the partition,
+    # or the set of replicas, they target and each group is sent as an unlogged batch, or as a counter batch for
+    # writes to counter tables, which are kept apart from the other writes. Groups larger than the maximum batch size
+    # are split into several batches. The batches are written in parallel, with a bounded number of them in flight at
+    # a time. The first batch which fails stops the update and its error is returned, while batches already written
+    # are not rolled back.
+    #
+    # + statements - The statements to be executed
+    # + grouping - Decides which statements are written together in a batch
+    # + maxBatchSize - The maximum number of statements in a batch, which keeps batches below the batch size
+    #   threshold of the server
+    # + return - `nil` upon success or `error` if an error occurs
+    public remote function bulkUpdate(BatchStatement[] statements, BulkUpdateGrouping grouping = GROUP_BY_PARTITION,
+        int maxBatchSize = 100) returns error? {
+        return externBulkUpdate(self, statements, grouping, maxBatchSize);
+    }
+
+    # Load the records of a local CSV or newline delimited JSON file into cassandra datasource. Each record is
+    # written through the given query, with the writes being executed concurrently up to the configured limit.
+    #
+    # + filePath - Path of the file to be loaded
+    # + queryString - Query with one parameter for each value written from a record
+    # + options - Options of the bulk load
+    # + return - `BulkLoadResult` summarizing the load or `error` if the load could not be performed
+    public remote function bulkLoad(string filePath, string queryString, BulkLoadOptions options = {})
+        returns BulkLoadResult|error {
+        return externBulkLoad(self, filePath, queryString, options);
+    }
+
+    # Returns the request metrics of the driver and the timings collected by the connector, which cover all clients
+    # using the same connections to the cluster.
+    #
+    # + return - `Metrics` of the client
+    public function getMetrics() returns Metrics {
+        return externGetMetrics(self);
+    }
+
     # Stops the registered service.
     public function stop() {
         close(self);
@@ -64,12 +199,72 @@ function externUpdate(Client cassandraClient, string queryString, Param[] parame
     class: "org.ballerinalang.cassandra.actions.ExternAction"
 } external;
 
+function externUpdateWithOptions(Client cassandraClient, StatementOptions options, string queryString,
+    Param[] parameters) returns error? = @java:Method {
+    name: "updateWithOptions",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
+function externBatchUpdate(Client cassandraClient, BatchStatement[] statements, string batchType)
+    returns error? = @java:Method {
+    name: "batchUpdate",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
+function externBulkUpdate(Client cassandraClient, BatchStatement[] statements, string grouping, int maxBatchSize)
+    returns error? = @java:Method {
+    name: "bulkUpdate",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
+function externBulkLoad(Client cassandraClient, string filePath, string queryString, BulkLoadOptions options)
+    returns BulkLoadResult|error = @java:Method {
+    name: "bulkLoad",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
 function externQuery(Client cassandraClient, string queryString, typedesc<record {|any|error...;|}> recordType,
     Param[] parameters) returns table<record {}>|error = @java:Method {
     name: "query",
     class: "org.ballerinalang.cassandra.actions.ExternAction"
 } external;
 
+function externQueryWithOptions(Client cassandraClient, StatementOptions options, string queryString,
+    typedesc<record {|any|error...;|}> recordType, Param[] parameters) returns table<record {}>|error = @java:Method {
+    name: "queryWithOptions",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
+function externQueryPage(Client cassandraClient, PageRequest page, string queryString,
+    typedesc<record {|any|error...;|}> recordType, Param[] parameters) returns Page|error = @java:Method {
+    name: "queryPage",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
+function externQueryPageWithOptions(Client cassandraClient, StatementOptions options, PageRequest page,
+    string queryString, typedesc<record {|any|error...;|}> recordType, Param[] parameters)
+    returns Page|error = @java:Method {
+    name: "queryPageWithOptions",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
+function externQueryStream(Client cassandraClient, ResultIterator iterator, string queryString,
+    typedesc<record {|any|error...;|}> recordType, Param[] parameters) returns error? = @java:Method {
+    name: "queryStream",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
+function externScanTable(Client cassandraClient, ResultIterator iterator, string keyspace, string tableName,
+    typedesc<record {|any|error...;|}> recordType, ScanOptions options) returns error? = @java:Method {
+    name: "scanTable",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
+function externGetMetrics(Client cassandraClient) returns Metrics = @java:Method {
+    name: "getMetrics",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
 function close(Client cassandraClient) = @java:Method {
     name: "close",
     class: "org.ballerinalang.cassandra.actions.ExternAction"
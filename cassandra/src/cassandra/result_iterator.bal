@@ -0,0 +1,50 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/java;
+
+# Iterates over the rows of a select result. Backs the streams returned by the `Client`.
+type ResultIterator object {
+
+    # Returns the next row of the result.
+    #
+    # + return - The next row wrapped in a record, `()` if there are no more rows or `error` if an error occurs
+    public function next() returns record {|record {} value;|}|error? {
+        record {}|error? result = nextResult(self);
+        if (result is record {}) {
+            return {value: result};
+        }
+        return result;
+    }
+
+    # Closes the result, so that no further pages are fetched. A stream which is not read until its end must be
+    # closed to release its result.
+    #
+    # + return - `()` if the result is closed or `error` if an error occurs
+    public function close() returns error? {
+        return closeResult(self);
+    }
+};
+
+function nextResult(ResultIterator iterator) returns record {}|error? = @java:Method {
+    name: "nextResult",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
+
+function closeResult(ResultIterator iterator) returns error? = @java:Method {
+    name: "closeResult",
+    class: "org.ballerinalang.cassandra.actions.ExternAction"
+} external;
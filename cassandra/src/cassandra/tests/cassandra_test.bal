@@ -24,6 +24,81 @@ type Person record {
     float income;
 };
 
+type Event record {
+    int partition;
+    int id;
+};
+
+type Account record {
+    int id;
+    string owner;
+    int balance;
+};
+
+type Reading record {
+    int sensor;
+    int id;
+    int value;
+};
+
+type ReadingCount record {
+    int sensor;
+    int readings;
+};
+
+type Measurement record {
+    int id;
+    int count;
+    decimal? amount;
+    float? ratio;
+    int? small;
+    int? tiny;
+    int? taken;
+};
+
+type Conversion record {
+    int id;
+    int small;
+    int big;
+    decimal amount;
+    float ratio;
+    int taken;
+    string code;
+    decimal[] amounts;
+    int[] counts;
+    map<float> ratios;
+};
+
+type Address record {
+    string city;
+    int zip;
+};
+
+type Profile record {
+    int id;
+    string[] tags;
+    map<int> scores;
+    Address address;
+    [float, float] location;
+};
+
+type OptionalAddress record {
+    string city;
+    int? zip;
+};
+
+type NullableProfile record {
+    int id;
+    string[]? tags;
+    map<int>? scores;
+    OptionalAddress address;
+};
+
+type CityProfile record {
+    int id;
+    record {| string city; |} address;
+};
+
 Client conn = new ({
     host: "localhost",
     port: 9042,
@@ -59,6 +134,155 @@ function test_update_values() {
     handleUpdate(result, "Insert row 1 to Table person");
 }
 
+@test:Config {}
+function test_batch_update_values() {
+    var result = conn->update("CREATE TABLE testballerina.account(id int PRIMARY KEY, owner text, balance int)");
+    handleUpdate(result, "Table account creation");
+    string insert = "INSERT INTO testballerina.account(id, owner, balance) values (?, ?, ?)";
+    BatchStatement[] statements = [
+        {queryString: insert, parameters: [1, "Alice", 100]},
+        {queryString: insert, parameters: [2, "Bob", 200]},
+        {queryString: insert, parameters: [3, "Carol", 300]}
+    ];
+    result = conn->batchUpdate(statements, BATCH_LOGGED);
+    handleUpdate(result, "Batch insert to Table account");
+    assertAccountBalances({"1": 100, "2": 200, "3": 300});
+
+    statements = [
+        {queryString: "UPDATE testballerina.account SET balance = ? WHERE id = ?", parameters: [150, 1]},
+        {queryString: "DELETE FROM testballerina.account WHERE id = ?", parameters: [2]}
+    ];
+    result = conn->batchUpdate(statements, BATCH_UNLOGGED);
+    handleUpdate(result, "Batch update of Table account");
+    assertAccountBalances({"1": 150, "3": 300});
+}
+
+function assertAccountBalances(map<int> balances) {
+    var result = conn->query("select * from testballerina.account", Account);
+    if (result is table<Account>) {
+        int count = 0;
+        foreach var row in result {
+            test:assertEquals(row.balance, balances[row.id.toString()], "incorrect balance");
+            count += 1;
+        }
+        test:assertEquals(count, balances.length(), "incorrect row count");
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+}
+
+@test:Config {}
+function test_bulk_update_values() {
+    var result = conn->update("CREATE TABLE testballerina.reading(sensor int, id int, value int, " +
+        "PRIMARY KEY (sensor, id))");
+    handleUpdate(result, "Table reading creation");
+    string insert = "INSERT INTO testballerina.reading(sensor, id, value) values (?, ?, ?)";
+    BatchStatement[] statements = [];
+    foreach int sensor in 1 ... 3 {
+        foreach int id in 1 ... 4 {
+            statements.push({queryString: insert, parameters: [sensor, id, sensor * 10 + id]});
+        }
+    }
+    // Each partition holds more statements than fit in a batch, so its statements are split into two batches
+    result = conn->bulkUpdate(statements, GROUP_BY_PARTITION, 3);
+    handleUpdate(result, "Bulk update grouped by partition of Table reading");
+    statements = [];
+    foreach int sensor in 4 ... 6 {
+        statements.push({queryString: insert, parameters: [sensor, 1, sensor * 10 + 1]});
+    }
+    result = conn->bulkUpdate(statements, GROUP_BY_REPLICA_SET);
+    handleUpdate(result, "Bulk update grouped by replica set of Table reading");
+
+    foreach int sensor in 1 ... 6 {
+        var selectResult = conn->query("select * from testballerina.reading where sensor = ?", Reading, sensor);
+        if (selectResult is table<Reading>) {
+            int count = 0;
+            foreach var row in selectResult {
+                test:assertEquals(row.value, sensor * 10 + row.id, "incorrect value");
+                count += 1;
+            }
+            test:assertEquals(count, sensor <= 3 ? 4 : 1, "incorrect row count");
+        } else {
+            test:assertFail(msg = <string>selectResult.message());
+        }
+    }
+}
+
+@test:Config {
+    dependsOn: ["test_bulk_update_values"]
+}
+function test_bulk_update_counters() {
+    var result = conn->update("CREATE TABLE testballerina.reading_count(sensor int PRIMARY KEY, readings counter)");
+    handleUpdate(result, "Table reading_count creation");
+    // All statements share the partition key 8, but the counter updates are written in a counter batch of their own
+    // as they cannot be mixed with the insert
+    BatchStatement[] statements = [
+        {queryString: "INSERT INTO testballerina.reading(sensor, id, value) values (?, ?, ?)", parameters: [8, 1, 81]},
+        {queryString: "UPDATE testballerina.reading_count SET readings = readings + 1 WHERE sensor = ?",
+            parameters: [8]},
+        {queryString: "UPDATE testballerina.reading_count SET readings = readings + 2 WHERE sensor = ?",
+            parameters: [8]}
+    ];
+    result = conn->bulkUpdate(statements, GROUP_BY_PARTITION);
+    handleUpdate(result, "Bulk update of Tables reading and reading_count");
+
+    var selectResult = conn->query("select * from testballerina.reading_count where sensor = ?", ReadingCount, 8);
+    if (selectResult is table<ReadingCount>) {
+        int count = 0;
+        foreach var row in selectResult {
+            test:assertEquals(row.readings, 3, "incorrect counter value");
+            count += 1;
+        }
+        test:assertEquals(count, 1, "incorrect row count");
+    } else {
+        test:assertFail(msg = <string>selectResult.message());
+    }
+}
+
+@test:Config {
+    dependsOn: ["test_bulk_update_values"]
+}
+function test_bulk_update_error() {
+    // A negative TTL is rejected by the server
+    BatchStatement[] statements = [
+        {queryString: "INSERT INTO testballerina.reading(sensor, id, value) values (?, ?, ?) USING TTL ?",
+            parameters: [9, 1, 91, -1]}
+    ];
+    var result = conn->bulkUpdate(statements, GROUP_BY_PARTITION);
+    test:assertTrue(result is error, "error of a batch not returned");
+
+    statements = [{queryString: "INSERT INTO testballerina.reading(sensor, id, value) values (?, ?, ?)",
+        parameters: [9, 1, 91]}];
+    result = conn->bulkUpdate(statements, GROUP_BY_PARTITION, 0);
+    test:assertTrue(result is error, "error of an invalid batch size not returned");
+}
+
+@test:Config {
+    dependsOn: ["test_bulk_update_values"]
+}
+function test_bulk_load_with_failed_row() {
+    // The second row has no clustering key, so its write is rejected
+    var result = conn->bulkLoad("src/cassandra/tests/resources/readings.csv",
+        "INSERT INTO testballerina.reading(sensor, id, value) values (?, ?, ?)", {maxRetries: 1});
+    if (result is BulkLoadResult) {
+        test:assertEquals(result.rows, 2, "incorrect number of rows written");
+        test:assertEquals(result.errors, 1, "incorrect number of errors");
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+    var selectResult = conn->query("select * from testballerina.reading where sensor = ?", Reading, 7);
+    if (selectResult is table<Reading>) {
+        int count = 0;
+        foreach var row in selectResult {
+            test:assertEquals(row.value, 70 + row.id, "incorrect value");
+            count += 1;
+        }
+        test:assertEquals(count, 2, "incorrect row count");
+    } else {
+        test:assertFail(msg = <string>selectResult.message());
+    }
+}
+
 @test:Config {
     dependsOn: ["test_update_values"]
 }
@@ -76,6 +300,676 @@ function test_select_values() {
     }
 }
 
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_select_values_as_stream() {
+    var result = conn->queryStream("select * from testballerina.person", Person);
+    if (result is stream<record {}, error>) {
+        int count = 0;
+        error? e = result.forEach(function (record {} row) {
+            Person person = <Person>row;
+            test:assertEquals(person.id, 4, "incorrect id");
+            test:assertEquals(person.name, "Bob", "incorrect name");
+            count += 1;
+        });
+        test:assertTrue(e is (), "error while iterating the stream");
+        test:assertEquals(count, 1, "incorrect row count");
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_close_stream() {
+    var result = conn->queryStream("select * from testballerina.person", Person);
+    if (result is stream<record {}, error>) {
+        var row = result.next();
+        test:assertTrue(row is record {|record {} value;|}, "first row not returned");
+        error? e = result.close();
+        test:assertTrue(e is (), "error while closing the stream");
+        test:assertTrue(result.next() is (), "row returned by a closed stream");
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_select_values_with_array_parameter() {
+    string query = "select * from testballerina.person where id IN (?)";
+    int[] ids = [4, 99];
+    assertPersonName(conn->query(query, Person, <Parameter>{cqlType: TYPE_INT, value: ids}), "Bob");
+    ids = [];
+    var result = conn->query(query, Person, <Parameter>{cqlType: TYPE_INT, value: ids});
+    if (result is table<Person>) {
+        int count = 0;
+        foreach var row in result {
+            count += 1;
+        }
+        test:assertEquals(count, 0, "rows returned for an empty array");
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_select_values_with_options() {
+    StatementOptions options = {consistencyLevel: "LOCAL_ONE", fetchSize: 10, idempotent: true};
+    var result = conn->queryWithOptions(options, "select * from testballerina.person where id = ?", Person, 4);
+    if (result is table<Person>) {
+        int count = 0;
+        foreach var row in result {
+            test:assertEquals(row.name, "Bob", "incorrect name");
+            count += 1;
+        }
+        test:assertEquals(count, 1, "incorrect row count");
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_scan_table() {
+    var result = conn->scanTable("testballerina", "person", Person, {concurrency: 4, splitsPerTokenRange: 2});
+    if (result is stream<record {}, error>) {
+        boolean found = false;
+        error? e = result.forEach(function (record {} row) {
+            Person person = <Person>row;
+            if (person.id == 4) {
+                test:assertEquals(person.name, "Bob", "incorrect name");
+                found = true;
+            }
+        });
+        test:assertTrue(e is (), "error while iterating the stream");
+        test:assertTrue(found, "row not scanned");
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+}
+
+@test:Config {
+    dependsOn: ["test_select_values", "test_select_values_as_stream", "test_scan_table"]
+}
+function test_result_cache() {
+    Client cachingConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {resultCacheMaxEntries: 100}
+    });
+    string query = "select * from testballerina.person where id = ?";
+    var result = cachingConn->update("INSERT INTO testballerina.person(id, name, salary, income, married) " +
+        "values (7, 'Carol', 300.5, 3000.5, false)");
+    handleUpdate(result, "Insert row 7 to Table person");
+    assertPersonName(cachingConn->query(query, Person, 7), "Carol");
+    assertPersonName(cachingConn->query(query, Person, 7), "Carol");
+    test:assertEquals(cachingConn.getMetrics().resultCacheHits, 1, "cached result not served");
+    // A read at another consistency level is not served the cached result
+    assertPersonName(cachingConn->queryWithOptions({consistencyLevel: "ALL"}, query, Person, 7), "Carol");
+    test:assertEquals(cachingConn.getMetrics().resultCacheHits, 1, "result of another consistency level served");
+
+    result = cachingConn->update("UPDATE testballerina.person SET name = ? WHERE id = ?", "Dave", 7);
+    handleUpdate(result, "Update row 7 of Table person");
+    assertPersonName(cachingConn->query(query, Person, 7), "Dave");
+
+    result = cachingConn->update("DELETE FROM testballerina.person WHERE id = ?", 7);
+    handleUpdate(result, "Delete row 7 of Table person");
+    cachingConn.stop();
+}
+
+function assertPersonName(table<record {}>|error result, string name) {
+    if (result is table<Person>) {
+        int count = 0;
+        foreach var row in result {
+            test:assertEquals(row.name, name, "incorrect name");
+            count += 1;
+        }
+        test:assertEquals(count, 1, "incorrect row count");
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_shared_client() {
+    Client sharedConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {
+            queryOptionsConfig: {consistencyLevel: "ONE", defaultIdempotence: false},
+            protocolOptionsConfig: {sslEnabled: false},
+            socketOptionsConfig: {connectTimeoutMillis: 500, readTimeoutMillis: 1000},
+            poolingOptionsConfig: {maxConnectionsPerHostLocal: 5, newConnectionThresholdLocal: 10}
+        }
+    });
+    assertPersonName(sharedConn->query("select * from testballerina.person where id = ?", Person, 4), "Bob");
+    sharedConn.stop();
+    // The connections are still used by the other client
+    assertPersonName(conn->query("select * from testballerina.person where id = ?", Person, 4), "Bob");
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_keyspace_client() {
+    Client keyspaceConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        keyspace: "testballerina"
+    });
+    assertPersonName(keyspaceConn->query("select * from person where id = ?", Person, 4), "Bob");
+    Client otherKeyspaceConn = createClient({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        keyspace: "testballerina"
+    });
+    keyspaceConn.stop();
+    // The session of the keyspace is still used by the other client
+    assertPersonName(otherKeyspaceConn->query("select * from person where id = ?", Person, 4), "Bob");
+    otherKeyspaceConn.stop();
+
+    // The session of the keyspace has been closed along with its last client, so it is connected again
+    keyspaceConn = createClient({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        keyspace: "testballerina"
+    });
+    assertPersonName(keyspaceConn->query("select * from person where id = ?", Person, 4), "Bob");
+    keyspaceConn.stop();
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_warm_up() {
+    string query = "select * from testballerina.person where id = ?";
+    Client warmConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {preparedStatementCacheSize: 16},
+        warmUp: {statements: [query]}
+    });
+    assertPersonName(warmConn->query(query, Person, 4), "Bob");
+    // The only miss is the one of the warm-up itself
+    test:assertEquals(warmConn.getMetrics().preparedStatementCacheMisses, 1, "statement not prepared by the warm-up");
+    warmConn.stop();
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_prepared_statement_cache_evictions() {
+    Client smallCacheConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {preparedStatementCacheSize: 1}
+    });
+    assertPersonName(smallCacheConn->query("select * from testballerina.person where id = ?", Person, 4), "Bob");
+    // A query of a different text is prepared separately, evicting the first statement
+    assertPersonName(smallCacheConn->query("SELECT * FROM testballerina.person WHERE id = ?", Person, 4), "Bob");
+    test:assertEquals(smallCacheConn.getMetrics().preparedStatementCacheEvictions, 1, "statement not evicted");
+    smallCacheConn.stop();
+}
+
+@test:Config {}
+function test_query_page() {
+    var result = conn->update("CREATE TABLE testballerina.event(partition int, id int, PRIMARY KEY (partition, id))");
+    handleUpdate(result, "Table event creation");
+    foreach int id in 1 ... 5 {
+        result = conn->update("INSERT INTO testballerina.event(partition, id) values (?, ?)", 1, id);
+        handleUpdate(result, "Insert row to Table event");
+    }
+    PageRequest request = {pageSize: 2};
+    int count = 0;
+    int pages = 0;
+    while (true) {
+        var page = conn->queryPage(request, "select * from testballerina.event where partition = ?", Event, 1);
+        if (page is Page) {
+            pages += 1;
+            foreach var row in page.rows {
+                Event event = <Event>row;
+                count += 1;
+                test:assertEquals(event.id, count, "incorrect id");
+            }
+            string? pagingState = page.pagingState;
+            if (pagingState is ()) {
+                break;
+            }
+            request = {pageSize: 2, pagingState: pagingState};
+        } else {
+            test:assertFail(msg = <string>page.message());
+            break;
+        }
+    }
+    test:assertEquals(count, 5, "incorrect row count");
+    test:assertTrue(pages >= 3, "result not paged");
+}
+
+@test:Config {
+    dependsOn: ["test_query_page"]
+}
+function test_query_page_with_options() {
+    Client asyncConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {asyncExecution: true}
+    });
+    // The page size takes precedence over the fetch size of the options
+    var page = asyncConn->queryPageWithOptions({consistencyLevel: "ONE", fetchSize: 100}, {pageSize: 2},
+        "select * from testballerina.event where partition = ?", Event, 1);
+    if (page is Page) {
+        int count = 0;
+        foreach var row in page.rows {
+            count += 1;
+        }
+        test:assertEquals(count, 2, "incorrect row count");
+        test:assertTrue(page.pagingState is string, "paging state not returned");
+    } else {
+        test:assertFail(msg = <string>page.message());
+    }
+    asyncConn.stop();
+}
+
+@test:Config {}
+function test_complex_types() {
+    var result = conn->update("CREATE TYPE testballerina.address(city text, zip int)");
+    handleUpdate(result, "Type address creation");
+    result = conn->update("CREATE TABLE testballerina.profile(id int PRIMARY KEY, tags list<text>, " +
+        "scores map<text, int>, address frozen<address>, location frozen<tuple<double, double>>)");
+    handleUpdate(result, "Table profile creation");
+    result = conn->update("INSERT INTO testballerina.profile(id, tags, scores, address, location) values (1, " +
+        "['a', 'b'], {'x': 1, 'y': 2}, {city: 'Colombo', zip: 10}, (1.5, 2.5))");
+    handleUpdate(result, "Insert row to Table profile");
+    var selectResult = conn->query("select * from testballerina.profile where id = ?", Profile, 1);
+    if (selectResult is table<Profile>) {
+        foreach var profile in selectResult {
+            test:assertEquals(profile.tags, ["a", "b"], "incorrect list value");
+            test:assertEquals(profile.scores["y"], 2, "incorrect map value");
+            test:assertEquals(profile.address.city, "Colombo", "incorrect user defined type value");
+            test:assertEquals(profile.location[1], 2.5, "incorrect tuple value");
+        }
+    } else {
+        test:assertFail(msg = <string>selectResult.message());
+    }
+}
+
+@test:Config {
+    dependsOn: ["test_complex_types"]
+}
+function test_null_and_empty_collections() {
+    // Cassandra stores empty collections as null
+    var result = conn->update("INSERT INTO testballerina.profile(id, tags, scores, address, location) values (2, " +
+        "[], {}, {city: 'Galle', zip: 20}, (1.0, 2.0))");
+    handleUpdate(result, "Insert row 2 to Table profile");
+    var selectResult = conn->query("select * from testballerina.profile where id = ?", Profile, 2);
+    if (selectResult is table<Profile>) {
+        int count = 0;
+        foreach var profile in selectResult {
+            test:assertEquals(profile.tags.length(), 0, "null list not mapped to an empty array");
+            test:assertEquals(profile.scores.length(), 0, "null map not mapped to an empty map");
+            count += 1;
+        }
+        test:assertEquals(count, 1, "incorrect row count");
+    } else {
+        test:assertFail(msg = <string>selectResult.message());
+    }
+    var nullableResult = conn->query("select id, tags, scores, address from testballerina.profile where id = ?",
+        NullableProfile, 2);
+    if (nullableResult is table<NullableProfile>) {
+        foreach var profile in nullableResult {
+            test:assertTrue(profile.tags is (), "null list not mapped to nil");
+            test:assertTrue(profile.scores is (), "null map not mapped to nil");
+        }
+    } else {
+        test:assertFail(msg = <string>nullableResult.message());
+    }
+
+    result = conn->update("INSERT INTO testballerina.profile(id, tags, scores, address, location) values (3, " +
+        "['c'], {'z': 3}, {city: 'Kandy'}, (1.0, 2.0))");
+    handleUpdate(result, "Insert row 3 to Table profile");
+    nullableResult = conn->query("select id, tags, scores, address from testballerina.profile where id = ?",
+        NullableProfile, 3);
+    if (nullableResult is table<NullableProfile>) {
+        foreach var profile in nullableResult {
+            test:assertEquals(profile.address.city, "Kandy", "incorrect user defined type value");
+            test:assertTrue(profile.address.zip is (), "null field not mapped to nil");
+        }
+    } else {
+        test:assertFail(msg = <string>nullableResult.message());
+    }
+    // A null field cannot be mapped to a required field which does not allow nil
+    test:assertTrue(trap getProfileCount(3) is error, "null field mapped to a field which does not allow nil");
+}
+
+@test:Config {
+    dependsOn: ["test_complex_types"]
+}
+function test_user_type_as_anonymous_record() {
+    var selectResult = conn->query("select id, address from testballerina.profile where id = ?", CityProfile, 1);
+    if (selectResult is table<CityProfile>) {
+        int count = 0;
+        foreach var profile in selectResult {
+            test:assertEquals(profile.address.city, "Colombo", "incorrect user defined type value");
+            count += 1;
+        }
+        test:assertEquals(count, 1, "incorrect row count");
+    } else {
+        test:assertFail(msg = <string>selectResult.message());
+    }
+}
+
+function getProfileCount(int id) returns int|error {
+    var profiles = check conn->query("select * from testballerina.profile where id = ?", Profile, id);
+    int count = 0;
+    foreach var profile in profiles {
+        count += 1;
+    }
+    return count;
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_async_execution() {
+    Client asyncConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {asyncExecution: true}
+    });
+    var result = asyncConn->update("INSERT INTO testballerina.person(id, name, salary, income, married) " +
+        "values (?, ?, ?, ?, ?)", 8, "Erin", 400.5, 4000.5, true);
+    handleUpdate(result, "Asynchronous insert of row 8 to Table person");
+    assertPersonName(asyncConn->query("select * from testballerina.person where id = ?", Person, 8), "Erin");
+    result = asyncConn->update("DELETE FROM testballerina.person WHERE id = ?", 8);
+    handleUpdate(result, "Asynchronous delete of row 8 of Table person");
+    var selectResult = asyncConn->query("select * from testballerina.person where id = ?", Person, 8);
+    if (selectResult is table<Person>) {
+        int count = 0;
+        foreach var row in selectResult {
+            count += 1;
+        }
+        test:assertEquals(count, 0, "deleted row returned");
+    } else {
+        test:assertFail(msg = <string>selectResult.message());
+    }
+    asyncConn.stop();
+}
+
+@test:Config {}
+function test_numeric_types() {
+    var result = conn->update("CREATE TABLE testballerina.measurement(id int PRIMARY KEY, count varint, " +
+        "amount decimal, ratio decimal, small smallint, tiny tinyint, taken timestamp)");
+    handleUpdate(result, "Table measurement creation");
+    result = conn->update("INSERT INTO testballerina.measurement(id, count, amount, ratio, small, tiny, taken) " +
+        "values (1, 9223372036854775807, 12345678901234567890.123456789, 0.5, -32768, 127, 1577836800000)");
+    handleUpdate(result, "Insert row 1 to Table measurement");
+    var selectResult = conn->query("select * from testballerina.measurement where id = ?", Measurement, 1);
+    if (selectResult is table<Measurement>) {
+        int count = 0;
+        foreach var row in selectResult {
+            test:assertEquals(row.count, 9223372036854775807, "incorrect varint value");
+            test:assertEquals(row.amount, 12345678901234567890.123456789d, "incorrect decimal value");
+            test:assertEquals(row.ratio, 0.5, "incorrect decimal value of a float field");
+            test:assertEquals(row.small, -32768, "incorrect smallint value");
+            test:assertEquals(row.tiny, 127, "incorrect tinyint value");
+            test:assertEquals(row.taken, 1577836800000, "incorrect timestamp value");
+            count += 1;
+        }
+        test:assertEquals(count, 1, "incorrect row count");
+    } else {
+        test:assertFail(msg = <string>selectResult.message());
+    }
+
+    result = conn->update("INSERT INTO testballerina.measurement(id, count) values (2, 9223372036854775808)");
+    handleUpdate(result, "Insert row 2 to Table measurement");
+    var streamResult = conn->queryStream("select * from testballerina.measurement where id = 2", Measurement);
+    if (streamResult is stream<record {}, error>) {
+        test:assertTrue(streamResult.next() is error, "varint beyond the range of int not rejected");
+        error? e = streamResult.close();
+    } else {
+        test:assertFail(msg = <string>streamResult.message());
+    }
+}
+
+@test:Config {
+    dependsOn: ["test_numeric_types"]
+}
+function test_invalid_parameters() {
+    string insert = "INSERT INTO testballerina.measurement(id, small, tiny) values (?, ?, ?)";
+    var result = conn->update(insert, 3, 32768, 0);
+    test:assertTrue(result is error, "smallint parameter beyond its range not rejected");
+    result = conn->update(insert, 3, 0, -129);
+    test:assertTrue(result is error, "tinyint parameter beyond its range not rejected");
+    result = conn->update(insert, 3, 0);
+    test:assertTrue(result is error, "missing parameter not rejected");
+    result = conn->update(insert, 3, 0, 0, 0);
+    test:assertTrue(result is error, "extra parameter not rejected");
+}
+
+@test:Config {}
+function test_value_conversions() {
+    var result = conn->update("CREATE TABLE testballerina.conversion(id int PRIMARY KEY, small smallint, " +
+        "big varint, amount decimal, ratio float, taken timestamp, code uuid, amounts list<decimal>, " +
+        "counts set<varint>, ratios map<text, decimal>)");
+    handleUpdate(result, "Table conversion creation");
+    result = conn->update("INSERT INTO testballerina.conversion(id, small, big, amount, ratio, taken, code) " +
+        "values (?, ?, ?, ?, ?, ?, ?)", 1, -7, 9223372036854775807, 2.5, 0.25, 1577836800000,
+        "123e4567-e89b-12d3-a456-426655440000");
+    handleUpdate(result, "Insert row 1 to Table conversion");
+    result = conn->update("UPDATE testballerina.conversion SET amounts = [1.1, 12345678901234567890.5], " +
+        "counts = {3, 9223372036854775807}, ratios = {'a': 0.5} WHERE id = 1");
+    handleUpdate(result, "Update row 1 of Table conversion");
+    var selectResult = conn->query("select * from testballerina.conversion where id = ?", Conversion, 1);
+    if (selectResult is table<Conversion>) {
+        int count = 0;
+        foreach var row in selectResult {
+            test:assertEquals(row.small, -7, "incorrect smallint value");
+            test:assertEquals(row.big, 9223372036854775807, "incorrect varint value");
+            test:assertEquals(row.amount, 2.5d, "incorrect decimal value");
+            test:assertEquals(row.ratio, 0.25, "incorrect float value");
+            test:assertEquals(row.taken, 1577836800000, "incorrect timestamp value");
+            test:assertEquals(row.code, "123e4567-e89b-12d3-a456-426655440000", "incorrect uuid value");
+            test:assertEquals(row.amounts, [1.1d, 12345678901234567890.5d], "incorrect decimal list value");
+            test:assertEquals(row.counts, [3, 9223372036854775807], "incorrect varint set value");
+            test:assertEquals(row.ratios["a"], 0.5, "incorrect decimal value of a float map");
+            count += 1;
+        }
+        test:assertEquals(count, 1, "incorrect row count");
+    } else {
+        test:assertFail(msg = <string>selectResult.message());
+    }
+
+    result = conn->update("UPDATE testballerina.conversion SET counts = {9223372036854775808} WHERE id = 1");
+    handleUpdate(result, "Update row 1 of Table conversion");
+    var streamResult = conn->queryStream("select * from testballerina.conversion where id = 1", Conversion);
+    if (streamResult is stream<record {}, error>) {
+        test:assertTrue(streamResult.next() is error, "varint element beyond the range of int not rejected");
+        error? e = streamResult.close();
+    } else {
+        test:assertFail(msg = <string>streamResult.message());
+    }
+    result = conn->update("UPDATE testballerina.conversion SET ratio = ? WHERE id = 1", 1.0e300);
+    test:assertTrue(result is error, "float parameter beyond the range of the column not rejected");
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_request_limit() {
+    Client limitedConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {maxInFlightRequests: 1}
+    });
+    string query = "select * from testballerina.person where id = ?";
+    var result = limitedConn->queryStream("select * from testballerina.person", Person);
+    if (result is stream<record {}, error>) {
+        // The open stream holds the only permit
+        test:assertTrue(limitedConn->query(query, Person, 4) is error, "request beyond the limit not rejected");
+        error? e = result.close();
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+    assertPersonName(limitedConn->query(query, Person, 4), "Bob");
+
+    result = limitedConn->queryStream("select * from testballerina.person", Person);
+    if (result is stream<record {}, error>) {
+        error? e = result.forEach(function (record {} row) {
+        });
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+    // A stream read to its end releases its permit
+    assertPersonName(limitedConn->query(query, Person, 4), "Bob");
+
+    // A scan only reads as many ranges concurrently as the limit allows
+    result = limitedConn->scanTable("testballerina", "person", Person, {concurrency: 4, splitsPerTokenRange: 2});
+    if (result is stream<record {}, error>) {
+        boolean found = false;
+        error? e = result.forEach(function (record {} row) {
+            if (<int>row["id"] == 4) {
+                found = true;
+            }
+        });
+        test:assertTrue(e is (), "error while iterating the stream");
+        test:assertTrue(found, "row not scanned");
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+    assertPersonName(limitedConn->query(query, Person, 4), "Bob");
+    limitedConn.stop();
+
+    Client limitedAsyncConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {maxInFlightRequests: 1, inFlightRequestAcquireTimeoutMillis: 60000, asyncExecution: true}
+    });
+    result = limitedAsyncConn->queryStream("select * from testballerina.person", Person);
+    if (result is stream<record {}, error>) {
+        // Asynchronous requests are rejected right away instead of waiting for the permit
+        test:assertTrue(limitedAsyncConn->query(query, Person, 4) is error, "request beyond the limit not rejected");
+        error? e = result.close();
+    } else {
+        test:assertFail(msg = <string>result.message());
+    }
+    assertPersonName(limitedAsyncConn->query(query, Person, 4), "Bob");
+    limitedAsyncConn.stop();
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_speculative_execution_policies() {
+    string query = "select * from testballerina.person where id = ?";
+    StatementOptions options = {idempotent: true};
+    Client constantConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {
+            speculativeExecutionPolicy: "ConstantSpeculativeExecutionPolicy",
+            constantSpeculativeExecutionPolicyDelay: 100,
+            maxSpeculativeExecutions: 2
+        }
+    });
+    assertPersonName(constantConn->queryWithOptions(options, query, Person, 4), "Bob");
+    constantConn.stop();
+
+    Client percentileConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {
+            speculativeExecutionPolicy: "PercentileSpeculativeExecutionPolicy",
+            percentileSpeculativeExecutionPolicyPercentile: 99.0,
+            maxSpeculativeExecutions: 2,
+            highestTrackableLatencyMillis: 5000
+        }
+    });
+    assertPersonName(percentileConn->queryWithOptions(options, query, Person, 4), "Bob");
+    percentileConn.stop();
+
+    foreach float percentile in [0.0, 100.0, 150.0, -5.0] {
+        Client|error result = trap createClient({
+            host: "localhost",
+            port: 9042,
+            username: "cassandra",
+            password: "cassandra",
+            options: {
+                speculativeExecutionPolicy: "PercentileSpeculativeExecutionPolicy",
+                percentileSpeculativeExecutionPolicyPercentile: percentile,
+                maxSpeculativeExecutions: 2
+            }
+        });
+        test:assertTrue(result is error, "invalid percentile " + percentile.toString() + " not rejected");
+    }
+    Client|error result = trap createClient({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {speculativeExecutionPolicy: "PercentileSpeculativeExecutionPolicy", maxSpeculativeExecutions: 2}
+    });
+    test:assertTrue(result is error, "missing percentile not rejected");
+}
+
+function createClient(ClientConfig config) returns Client {
+    return new (config);
+}
+
+@test:Config {
+    dependsOn: ["test_update_values"]
+}
+function test_metrics() {
+    // Metrics are shared by clients with the same configuration, so this client uses one of its own
+    Client metricsConn = new ({
+        host: "localhost",
+        port: 9042,
+        username: "cassandra",
+        password: "cassandra",
+        options: {preparedStatementCacheSize: 8}
+    });
+    assertPersonName(metricsConn->query("select * from testballerina.person where id = ?", Person, 4), "Bob");
+    Metrics metrics = metricsConn.getMetrics();
+    test:assertEquals(metrics.execute.count, 1, "execution not recorded");
+    test:assertEquals(metrics.rowsReturned, 1, "returned rows not recorded");
+    test:assertTrue(metrics?.requests is TimerMetrics, "driver metrics not available");
+    metricsConn.stop();
+}
+
 @test:AfterSuite
 function afterSuiteFunc() {
     var result = conn->update("DROP KEYSPACE testballerina");
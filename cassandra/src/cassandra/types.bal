@@ -15,7 +15,8 @@
 // under the License.
 
 # The Datatype of the parameter.
-public type Type TYPE_INT | TYPE_BIGINT | TYPE_VARINT | TYPE_FLOAT | TYPE_DOUBLE | TYPE_TEXT | TYPE_BOOLEAN | TYPE_LIST;
+public type Type TYPE_INT | TYPE_BIGINT | TYPE_VARINT | TYPE_FLOAT | TYPE_DOUBLE | TYPE_TEXT | TYPE_BOOLEAN | TYPE_LIST |
+    TYPE_BLOB;
 
 # A 32-bit signed integer.
 public const TYPE_INT = "INT";
@@ -41,6 +42,9 @@ public const TYPE_BOOLEAN = "BOOLEAN";
 # A collection of one or more ordered elements.
 public const TYPE_LIST = "LIST";
 
+# Arbitrary bytes, passed as a `byte[]` value.
+public const TYPE_BLOB = "BLOB";
+
 # Represents complex parameter passed to `select` or `update` operation.
 
 # + cqlType - Cassandra type of the parameter
@@ -53,19 +57,170 @@ public type Parameter record {
 # The union type representing either a `Parameter` or a primitive ballerina type.
 public type Param string|int|boolean|float|Parameter;
 
+# Execution options of a single query, overriding the defaults of the client.
+#
+# + consistencyLevel - The consistency level of the query. Supported values are ANY, ONE, TWO, THREE, QUORUM, ALL,
+#   LOCAL_QUORUM, EACH_QUORUM, SERIAL, LOCAL_SERIAL, LOCAL_ONE
+# + serialConsistencyLevel - The serial consistency level of a conditional update. Supported values are SERIAL,
+#   LOCAL_SERIAL
+# + fetchSize - The number of rows fetched per page of the result
+# + readTimeoutMillis - The per-host read timeout in milliseconds. The query never times out if set to 0
+# + idempotent - Whether the query can be applied multiple times without changing the result beyond the initial
+#   application. Only idempotent queries are retried on timeouts and executed speculatively
+# + tracing - Enables tracing of the query if true
+# + cacheTtlMillis - The time in milliseconds the result of a `query` is kept in the result cache of the client. The
+#   result is not cached if set to 0, and the `resultCacheTtlMillis` of the client applies if set to -1
+public type StatementOptions record {|
+    string consistencyLevel = "";
+    string serialConsistencyLevel = "";
+    int fetchSize = -1;
+    int readTimeoutMillis = -1;
+    boolean idempotent?;
+    boolean tracing = false;
+    int cacheTtlMillis = -1;
+|};
+
+# A request of a single page of the result of a query.
+#
+# + pageSize - The maximum number of rows of the page
+# + pagingState - The paging state of the previous page, from which the page starts. The first page is returned if
+#   not set
+public type PageRequest record {|
+    int pageSize;
+    string pagingState?;
+|};
+
+# A single page of the result of a query.
+#
+# + rows - The rows of the page
+# + pagingState - The paging state from which the next page can be requested, or `()` if this is the last page
+public type Page record {|
+    table<record {}> rows;
+    string? pagingState;
+|};
+
+# The type of a batch.
+public type BatchType BATCH_LOGGED | BATCH_UNLOGGED | BATCH_COUNTER;
+
+# A batch which is applied atomically using the batch log.
+public const BATCH_LOGGED = "LOGGED";
+
+# A batch which does not use the batch log. Recommended only for statements targeting a single partition.
+public const BATCH_UNLOGGED = "UNLOGGED";
+
+# A batch containing only counter updates.
+public const BATCH_COUNTER = "COUNTER";
+
+# Decides which statements of a bulk update are written together in a batch.
+public type BulkUpdateGrouping GROUP_BY_PARTITION | GROUP_BY_REPLICA_SET;
+
+# Statements targeting the same partition are written together.
+public const GROUP_BY_PARTITION = "PARTITION";
+
+# Statements targeting partitions owned by the same set of replicas are written together.
+public const GROUP_BY_REPLICA_SET = "REPLICA_SET";
+
+# Represents a statement executed as a part of a batch.
+#
+# + queryString - Query to be executed
+# + parameters - The parameters to be passed to the query
+public type BatchStatement record {|
+    string queryString;
+    Param[] parameters = [];
+|};
+
+# Options of a table scan.
+#
+# + columns - The columns to be selected. All columns are selected if empty
+# + concurrency - The maximum number of token ranges read concurrently. As a range only fetches its next page once
+#   its current page has been consumed, at most this many pages are buffered ahead of the stream
+# + splitsPerTokenRange - The number of ranges each token range of the ring is split into. Smaller ranges spread the
+#   scan more evenly across the replicas of a ring with few token ranges
+# + fetchSize - The page size of the range queries. The default fetch size of the client is used if set to -1
+# + consistencyLevel - The consistency level of the range queries. The default of the client is used if empty
+public type ScanOptions record {|
+    string[] columns = [];
+    int concurrency = 8;
+    int splitsPerTokenRange = 1;
+    int fetchSize = -1;
+    string consistencyLevel = "";
+|};
+
+# The format of a file loaded by a bulk load.
+public type FileFormat FORMAT_CSV | FORMAT_NDJSON;
+
+# Comma separated values, one record per line.
+public const FORMAT_CSV = "CSV";
+
+# Newline delimited JSON, one JSON object per line.
+public const FORMAT_NDJSON = "NDJSON";
+
+# Options of a bulk load.
+#
+# + format - The format of the file
+# + header - Whether the first line of a CSV file names the columns. If true, the columns are matched to the
+#   parameters of the query by name, otherwise by position. The fields of JSON objects are always matched by name
+# + delimiter - The field delimiter of a CSV file
+# + maxInFlight - The maximum number of writes executed concurrently. Reading the file is paused while this many
+#   writes are pending
+# + maxRetries - The maximum number of times a failed write is retried. Retries are delayed by an exponential
+#   backoff
+public type BulkLoadOptions record {|
+    FileFormat format = FORMAT_CSV;
+    boolean header = true;
+    string delimiter = ",";
+    int maxInFlight = 256;
+    int maxRetries = 3;
+|};
+
+# Represents the outcome of a bulk load.
+#
+# + rows - The number of rows written
+# + errors - The number of records which could not be parsed or written
+# + retries - The number of times writes were retried
+# + elapsedMillis - The duration of the load in milliseconds
+# + rowsPerSecond - The average number of rows written per second
+public type BulkLoadResult record {|
+    int rows;
+    int errors;
+    int retries;
+    int elapsedMillis;
+    float rowsPerSecond;
+|};
+
 # The Client endpoint configuration for Cassandra database.
 #
 # + host - The host of the database to connect
 # + port - The port of the database to connect
 # + username - Username for the database connection
 # + password - Password for the database connection
+# + keyspace - The keyspace the statements of the client are executed in, so that its tables need not be qualified
+#   with the keyspace name. Clients which only differ by their keyspace share the connections to the cluster, along
+#   with the request limit, caches and metrics of the client
 # + options - Properties for the connection configuration
+# + warmUp - Work done while the client is initialized so that its first requests are not served cold
 public type ClientConfig record {|
     string host;
     int port;
     string username?;
     string password?;
+    string keyspace = "";
     ConnectionProperties options = {};
+    WarmUpConfig warmUp = {};
+|};
+
+# Warm-up of a client, done while the client is initialized. The core connections to the hosts are always opened
+# while the client is initialized, so only the statements need warming up.
+#
+# + statements - Statements prepared concurrently, so that they are served from the prepared statement cache
+# + waitForCompletion - Whether the initialization of the client waits for the warm-up to complete. Otherwise the
+#   warm-up continues in the background
+# + timeoutMillis - The maximum time in milliseconds the initialization of the client waits for the warm-up. The
+#   warm-up continues in the background once the timeout elapses
+public type WarmUpConfig record {|
+    string[] statements = [];
+    boolean waitForCompletion = true;
+    int timeoutMillis = 10000;
 |};
 
 # ConnectionProperties type represents the properties which are used to configure Cassandra connection.
@@ -74,15 +229,55 @@ public type ClientConfig record {|
 # + loadBalancingPolicy - The policy that decides which Cassandra hosts to contact for each new query
 # + reconnectionPolicy - The policy that schedules reconnection attempts to a node
 # + retryPolicy - The policy that defines a default behavior to adopt when a request fails
+# + speculativeExecutionPolicy - The policy that decides if the driver sends a request to additional hosts when the
+#   first host is slow to respond. Speculative executions are only started for idempotent statements. Supported
+#   values are NoSpeculativeExecutionPolicy, ConstantSpeculativeExecutionPolicy and
+#   PercentileSpeculativeExecutionPolicy
 # + dataCenter - The data center used with DCAwareRoundRobinPolicy
 # + withoutMetrics - Disables metrics collection for the created cluster if true
 # + withoutJMXReporting - Disables JMX reporting of the metrics if true
 # + allowRemoteDCsForLocalConsistencyLevel - Determine whether to allow DCAwareRoundRobinPolicy to return remote
 #   hosts when building query plans for queries having consistency level LOCAL_ONE or LOCAL_QUORUM
+# + asyncExecution - Executes queries and updates asynchronously if true, so that the calling strand is suspended
+#   instead of blocking a scheduler thread until the response arrives
+# + expandArrayParameters - Expands an array parameter into one "?" per element if true. If false, an array
+#   parameter is bound as a single collection value, e.g. to an `IN ?` restriction, so that a single prepared
+#   statement is used regardless of the array length
+# + idempotentQueries - Marks the statements executed by `query` and `queryStream` as idempotent if true, which makes
+#   them eligible for speculative execution regardless of the default idempotence of the client
 # + constantReconnectionPolicyDelay - The constant wait time between reconnection attempts of
 #   ConstantReconnectionPolicy
 # + exponentialReconnectionPolicyBaseDelay - The base delay in milliseconds for ExponentialReconnectionPolicy
 #   The maximum delay in milliseconds between reconnection attempts of ExponentialReconnectionPolicy
+# + constantSpeculativeExecutionPolicyDelay - The delay in milliseconds between speculative executions of
+#   ConstantSpeculativeExecutionPolicy
+# + maxSpeculativeExecutions - The maximum number of speculative executions of ConstantSpeculativeExecutionPolicy and
+#   PercentileSpeculativeExecutionPolicy
+# + highestTrackableLatencyMillis - The highest latency in milliseconds tracked by the per-host latency percentile
+#   tracker of PercentileSpeculativeExecutionPolicy. Defaults to 15000 if not set
+# + percentileSpeculativeExecutionPolicyPercentile - The latency percentile of a host after which
+#   PercentileSpeculativeExecutionPolicy starts a speculative execution, e.g. 99.0. Should be greater than 0 and less
+#   than 100
+# + preparedStatementCacheSize - The maximum number of prepared statements cached by the client, shared with the
+#   clients using the same connections to the cluster. Least recently used statements are evicted once the limit is
+#   reached. Caching is disabled if set to 0
+# + maxInFlightRequests - The maximum number of requests executed concurrently by the client together with the
+#   clients using the same connections to the cluster, i.e. those which only differ by their keyspace. Requests
+#   beyond the limit fail with a `REQUEST_REJECTED_ERROR` instead of being queued. A stream counts as a request
+#   until it is closed or read to its end, and each write of a bulk load counts as a request, which waits for the
+#   requests in flight instead of being rejected. Each token range a table scan reads concurrently counts as a
+#   request, with ranges beyond the first only started while the limit allows. The number of requests is not limited
+#   if set to -1
+# + inFlightRequestAcquireTimeoutMillis - The time in milliseconds a request waits for one of the requests in flight
+#   to complete before being rejected. Requests are rejected immediately if set to 0, and requests executed
+#   asynchronously are always rejected immediately
+# + resultCacheMaxEntries - The maximum number of results of `query` cached by the client, shared with the clients
+#   using the same connections to the cluster. Least recently used results are evicted once the limit is reached.
+#   Writes executed through these clients invalidate the cached results of the table they write to. Results are not
+#   cached if set to 0
+# + resultCacheMaxBytes - The maximum estimated size in bytes of the results cached by the client
+# + resultCacheTtlMillis - The time in milliseconds a result is cached unless the `StatementOptions` of the query
+#   set another one
 # + queryOptionsConfig - Options related to defaults for individual queries
 # + poolingOptionsConfig - Options related to connection pooling
 # + socketOptionsConfig - Options to configure low-level socket options for the connections kept to the Cassandra
@@ -94,14 +289,29 @@ public type ConnectionProperties record {|
     string reconnectionPolicy = "";
     string retryPolicy = "";
     string dataCenter = "";
+    string speculativeExecutionPolicy = "";
 
     boolean withoutMetrics = false;
     boolean withoutJMXReporting = false;
     boolean allowRemoteDCsForLocalConsistencyLevel = false;
+    boolean asyncExecution = false;
+    boolean expandArrayParameters = true;
+    boolean idempotentQueries = false;
 
     int constantReconnectionPolicyDelay = -1;
     int exponentialReconnectionPolicyBaseDelay = -1;
     int exponentialReconnectionPolicyMaxDelay = -1;
+    int preparedStatementCacheSize = 256;
+    int maxInFlightRequests = -1;
+    int inFlightRequestAcquireTimeoutMillis = 0;
+    int constantSpeculativeExecutionPolicyDelay = -1;
+    int maxSpeculativeExecutions = -1;
+    int highestTrackableLatencyMillis = -1;
+    int resultCacheMaxEntries = 0;
+    int resultCacheMaxBytes = 16777216;
+    int resultCacheTtlMillis = 60000;
+
+    float percentileSpeculativeExecutionPolicyPercentile = -1.0;
 
     QueryOptionsConfig queryOptionsConfig = {};
     PoolingOptionsConfig poolingOptionsConfig = {};
@@ -219,6 +429,103 @@ public type SocketOptionsConfig record {|
     int sendBufferSize = -1;
 |};
 
+# Metrics of a client. The metrics cover all clients using the same connections to the cluster, i.e. those which
+# only differ by their keyspace.
+#
+# + requests - Latencies of the requests executed by the driver. Not available if driver metrics are disabled
+# + errors - Errors of the requests executed by the driver. Not available if driver metrics are disabled
+# + openConnections - The number of connections open to Cassandra hosts
+# + inFlightRequests - The number of requests sent to Cassandra hosts and awaiting a response
+# + connectedToHosts - The number of Cassandra hosts the driver is connected to
+# + knownHosts - The number of Cassandra hosts known by the driver
+# + prepare - Time taken to obtain prepared statements, from the prepared statement cache or the cluster
+# + bind - Time taken to bind the parameters of statements
+# + execute - Time taken until the first page of the result of a statement is received
+# + rowMapping - Time taken to map a row of a result to a record
+# + rowsReturned - The number of rows returned by queries
+# + preparedStatementCacheHits - The number of prepared statements found in the prepared statement cache
+# + preparedStatementCacheMisses - The number of prepared statements not found in the prepared statement cache
+# + preparedStatementCacheEvictions - The number of prepared statements evicted from the prepared statement cache to
+#   stay within its size
+# + resultCacheHits - The number of query results served from the result cache
+# + resultCacheMisses - The number of query results not found in the result cache
+# + resultCacheEvictions - The number of results evicted from the result cache to stay within its limits
+public type Metrics record {|
+    TimerMetrics requests?;
+    ErrorMetrics errors?;
+    int openConnections = 0;
+    int inFlightRequests = 0;
+    int connectedToHosts = 0;
+    int knownHosts = 0;
+    TimerMetrics prepare;
+    TimerMetrics bind;
+    TimerMetrics execute;
+    TimerMetrics rowMapping;
+    int rowsReturned;
+    int preparedStatementCacheHits;
+    int preparedStatementCacheMisses;
+    int preparedStatementCacheEvictions;
+    int resultCacheHits = 0;
+    int resultCacheMisses = 0;
+    int resultCacheEvictions = 0;
+|};
+
+# Rates and latency distribution of a timed operation.
+#
+# + count - The number of times the operation was performed
+# + meanRate - The mean rate of the operation per second
+# + oneMinuteRate - The rate of the operation per second over the last minute, exponentially weighted
+# + meanMillis - The mean latency in milliseconds
+# + minMillis - The minimum latency in milliseconds
+# + maxMillis - The maximum latency in milliseconds
+# + p50Millis - The median latency in milliseconds
+# + p75Millis - The 75th percentile latency in milliseconds
+# + p95Millis - The 95th percentile latency in milliseconds
+# + p99Millis - The 99th percentile latency in milliseconds
+# + p999Millis - The 99.9th percentile latency in milliseconds
+public type TimerMetrics record {|
+    int count;
+    float meanRate;
+    float oneMinuteRate;
+    float meanMillis;
+    float minMillis;
+    float maxMillis;
+    float p50Millis;
+    float p75Millis;
+    float p95Millis;
+    float p99Millis;
+    float p999Millis;
+|};
+
+# Errors of the requests executed by the driver.
+#
+# + connectionErrors - The number of connection errors
+# + authenticationErrors - The number of authentication errors
+# + writeTimeouts - The number of write requests which timed out on the server
+# + readTimeouts - The number of read requests which timed out on the server
+# + unavailables - The number of requests which failed as not enough replicas were alive
+# + clientTimeouts - The number of requests which timed out before a response was received
+# + otherErrors - The number of requests which failed with other errors
+# + retries - The number of times requests were retried by the retry policy
+# + ignores - The number of errors ignored by the retry policy
+# + speculativeExecutions - The number of speculative executions started
+public type ErrorMetrics record {|
+    int connectionErrors;
+    int authenticationErrors;
+    int writeTimeouts;
+    int readTimeouts;
+    int unavailables;
+    int clientTimeouts;
+    int otherErrors;
+    int retries;
+    int ignores;
+    int speculativeExecutions;
+|};
+
+# The reason of the error returned when a request is rejected as the client already has the maximum number of
+# requests in flight.
+public const REQUEST_REJECTED_ERROR = "{ballerina/cassandra}RequestRejectedError";
+
 public type DatabaseErrorData record {|
     string message;
 |};